@@ -0,0 +1,28 @@
+# Rewrites the "expected" block of every insight fixture with what analyze_user.py prints for its "input",
+# so JavaInsightEngineTest compares the JVM engine against real script output.
+# Run from backend/: python3 ml/regenerate_insight_fixtures.py
+import glob
+import json
+import os
+import sys
+
+sys.path.insert(0, os.path.dirname(os.path.abspath(__file__)))
+from analyze_user import CustomJSONEncoder, analyze
+
+FIXTURES = os.path.join(os.path.dirname(os.path.abspath(__file__)), "..", "src", "test", "resources", "insights")
+
+
+def main():
+    for path in sorted(glob.glob(os.path.join(FIXTURES, "*.json"))):
+        with open(path, encoding="utf-8") as f:
+            fixture = json.load(f)
+        expected = json.loads(json.dumps(analyze(fixture["input"]), cls=CustomJSONEncoder))
+        fixture["expected"] = expected
+        with open(path, "w", encoding="utf-8") as f:
+            json.dump(fixture, f, indent=2, ensure_ascii=False)
+            f.write("\n")
+        print(f"{os.path.basename(path)}: {expected.get('label')}, {len(expected.get('anomalies', []))} anomalies")
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,97 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.BackendApplication;
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExpenseRollupService;
+import com.FinanceManager.backend.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Compares the rollup-backed breakdowns with grouping the raw rows, which is what they replaced. Both sides run the
+// application's own queries against the test-profile database (in-memory H2), so absolute times are not PostgreSQL's,
+// but how each side scales with the user's row count is.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseBreakdownBenchmark {
+    private static final String INSERT_SQL = "INSERT INTO expenses (id, user_id, amount, description, category, pay_method, " +
+            "expense_date, anomalous, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, false, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    private static final int LOAD_BATCH = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExpenseService expenseService;
+    private ExpenseRepository expenseRepository;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties("server.port=0")
+                .run();
+        expenseService = context.getBean(ExpenseService.class);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+
+        User user = new User();
+        user.setUsername("benchmark-" + rows);
+        user.setPasswordHash("hash");
+        userId = context.getBean(UserRepository.class).saveAndFlush(user).getId();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        List<Expense> expenses = SyntheticData.expenses(rows);
+        for (int from = 0; from < expenses.size(); from += LOAD_BATCH) {
+            List<Object[]> batch = new ArrayList<>(LOAD_BATCH);
+            for (Expense expense : expenses.subList(from, Math.min(from + LOAD_BATCH, expenses.size()))) {
+                batch.add(new Object[]{UUID.randomUUID(), userId, expense.getAmount(), expense.getDescription(),
+                        expense.getCategory(), expense.getPayMethod(), expense.getExpenseDate()});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        context.getBean(ExpenseRollupService.class).rebuild(userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> monthlyBreakdown() {
+        return expenseService.getMonthlyBreakdown(userId);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> weeklyBreakdown() {
+        return expenseService.getWeeklyBreakdown(userId);
+    }
+
+    // The same month keys as getMonthlyBreakdown, from the GROUP BY over expenses that the rollup rebuild runs.
+    @Benchmark
+    public Map<String, BigDecimal> monthlyBreakdownFromRows() {
+        return expenseRepository.sumByUserGroupByCategoryAndMonth(userId).stream()
+                .collect(Collectors.groupingBy(
+                        row -> Month.of(((Number) row[2]).intValue()).toString().substring(0, 3),
+                        Collectors.mapping(row -> (BigDecimal) row[3], Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
+                ));
+    }
+}
@@ -0,0 +1,76 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.filters.JwtAuthFilter;
+import com.FinanceManager.backend.repository.RevokedTokenRepository;
+import com.FinanceManager.backend.service.AuthCache;
+import com.FinanceManager.backend.service.CustomUserDetailsService;
+import com.FinanceManager.backend.service.TokenRevocationService;
+import com.FinanceManager.backend.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Full filter pass for an authenticated GET, including the revocation lookup against 10k revoked ids;
+// "cold" drops the caches first to show the uncached cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private AuthCache authCache;
+    private JwtAuthFilter filter;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setPasswordHash("hash");
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("benchmark")).thenReturn(user);
+
+        JwtUtil jwtUtil = JwtBenchmark.jwtUtil();
+        authCache = JwtBenchmark.authCache(jwtUtil, userDetailsService);
+        TokenRevocationService revocations = new TokenRevocationService(mock(RevokedTokenRepository.class));
+        for (int i = 0; i < 10_000; i++) {
+            revocations.revoke(UUID.randomUUID().toString(), LocalDateTime.now().plusHours(1));
+        }
+        filter = new JwtAuthFilter(authCache, revocations);
+        token = jwtUtil.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public Object warm() throws Exception {
+        return authenticate();
+    }
+
+    @Benchmark
+    public Object cold() throws Exception {
+        authCache.invalidateAll();
+        return authenticate();
+    }
+
+    private Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses/user/" + SyntheticData.USER_ID);
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
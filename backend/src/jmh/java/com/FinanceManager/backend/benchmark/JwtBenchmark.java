@@ -0,0 +1,71 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.service.AuthCache;
+import com.FinanceManager.backend.service.CustomUserDetailsService;
+import com.FinanceManager.backend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    static final String SECRET = "8OPsktHrRkupT3lywWvs8cUfFlL5MqQPO33nWQt621A";
+
+    private JwtUtil jwtUtil;
+    private AuthCache authCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = jwtUtil();
+        authCache = authCache(jwtUtil, mock(CustomUserDetailsService.class));
+        token = jwtUtil.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    // Signature and expiry check; this is what validateToken did with two extra parses before.
+    @Benchmark
+    public Claims validateToken() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String verifiedUsernameCached() {
+        return authCache.verifiedUsername(token);
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initKey");
+        return jwtUtil;
+    }
+
+    static AuthCache authCache(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+        AuthCache authCache = new AuthCache(jwtUtil, userDetailsService);
+        ReflectionTestUtils.setField(authCache, "tokenMaxSize", 10_000L);
+        ReflectionTestUtils.setField(authCache, "userMaxSize", 10_000L);
+        ReflectionTestUtils.setField(authCache, "userTtl", 300_000L);
+        ReflectionTestUtils.invokeMethod(authCache, "init");
+        return authCache;
+    }
+}
@@ -0,0 +1,63 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.config.BoundedPasswordEncoder;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Concurrent logins through the same provider and bounded encoder the app uses. Compare the throughput and
+// sample-time percentiles per strength against the login latency budget before raising bcrypt-strength.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginBenchmark {
+    private static final String PASSWORD = "password123";
+
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    @Param({"2"})
+    public int hashingThreads;
+
+    private BoundedPasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        passwordEncoder = new BoundedPasswordEncoder(bcrypt, hashingThreads, 1024, 60_000);
+
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setPasswordHash(bcrypt.encode(PASSWORD));
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("benchmark")).thenReturn(user);
+
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken("benchmark", PASSWORD));
+    }
+}
@@ -0,0 +1,56 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.service.JavaInsightEngine;
+import com.FinanceManager.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the payloads the API returns: insight results and expense lists, whole or as NDJSON.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private List<Expense> expenses;
+    private InsightResult insight;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        expenses = SyntheticData.expenses(rows);
+        insight = new JavaInsightEngine().analyze(SyntheticData.USER_ID, expenses);
+    }
+
+    @Benchmark
+    public String insightPayload() throws IOException {
+        return objectMapper.writeValueAsString(insight);
+    }
+
+    @Benchmark
+    public byte[] expenseList() throws IOException {
+        return objectMapper.writeValueAsBytes(expenses);
+    }
+
+    @Benchmark
+    public void expenseNdjson() throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, OutputStream.nullOutputStream())) {
+            expenses.forEach(writer::write);
+        }
+    }
+}
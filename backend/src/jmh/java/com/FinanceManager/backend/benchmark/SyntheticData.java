@@ -0,0 +1,45 @@
+package com.FinanceManager.backend.benchmark;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class SyntheticData {
+    static final UUID USER_ID = UUID.fromString("6f1c2d3e-4a5b-4c6d-8e7f-9a0b1c2d3e4f");
+
+    private static final String[] CATEGORIES = {"food", "travel", "rent", "utilities", "entertainment", "health"};
+    private static final String[] PAY_METHODS = {"card", "cash", "upi"};
+
+    private SyntheticData() {
+    }
+
+    // Spreads rows over the last three years with a fixed seed so every fork sees the same history.
+    static List<Expense> expenses(int rows) {
+        Random random = new Random(42);
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUsername("benchmark");
+        user.setPasswordHash("hash");
+        LocalDate today = LocalDate.of(2025, 7, 20);
+
+        List<Expense> expenses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Expense expense = new Expense();
+            expense.setId(new UUID(42L, i));
+            expense.setUser(user);
+            expense.setAmount(BigDecimal.valueOf(50 + random.nextInt(50_000), 2));
+            expense.setDescription("Expense " + i);
+            expense.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            expense.setPayMethod(PAY_METHODS[random.nextInt(PAY_METHODS.length)]);
+            expense.setExpenseDate(today.minusDays(random.nextInt(3 * 365)));
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}
@@ -0,0 +1,142 @@
+package com.FinanceManager.backend.config;
+
+import com.FinanceManager.backend.entity.InsightJobRun;
+import com.FinanceManager.backend.entity.RateLimitClass;
+import com.FinanceManager.backend.service.DashboardService;
+import com.FinanceManager.backend.service.InsightJobService;
+import com.FinanceManager.backend.service.MonthlyInsightJob;
+import com.FinanceManager.backend.service.PythonWorkerPool;
+import com.FinanceManager.backend.service.RateLimitService;
+import com.FinanceManager.backend.service.TokenRevocationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+// Exposes the counters the services already keep for their /stats endpoints as meters.
+// HTTP, repository, Hikari, Hibernate and @Timed metrics come from Spring Boot's auto-configuration.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder insightJobMetrics(InsightJobService insightJobService) {
+        return registry -> {
+            Gauge.builder("insight.jobs.queued", insightJobService, s -> s.stats().getQueued())
+                    .description("Insight jobs waiting for a worker thread")
+                    .register(registry);
+            Gauge.builder("insight.jobs.running", insightJobService, s -> s.stats().getRunning())
+                    .register(registry);
+            Gauge.builder("insight.jobs.queue.capacity", insightJobService, s -> s.stats().getQueueCapacity())
+                    .register(registry);
+            Gauge.builder("insight.jobs.oldest.queued.age", insightJobService, s -> s.stats().getOldestQueuedAgeMillis())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("insight.jobs.submitted", insightJobService, s -> s.stats().getSubmitted())
+                    .register(registry);
+            FunctionCounter.builder("insight.jobs.deduplicated", insightJobService, s -> s.stats().getDeduplicated())
+                    .register(registry);
+            FunctionCounter.builder("insight.jobs.rejected", insightJobService, s -> s.stats().getRejected())
+                    .register(registry);
+            FunctionCounter.builder("insight.jobs.completed", insightJobService, s -> s.stats().getSucceeded())
+                    .tag("outcome", "succeeded")
+                    .register(registry);
+            FunctionCounter.builder("insight.jobs.completed", insightJobService, s -> s.stats().getFailed())
+                    .tag("outcome", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder monthlyInsightJobMetrics(MonthlyInsightJob monthlyInsightJob) {
+        return registry -> {
+            Gauge.builder("insight.batch.running", monthlyInsightJob, job -> job.isRunning() ? 1 : 0)
+                    .register(registry);
+            Gauge.builder("insight.batch.users.processed", monthlyInsightJob,
+                            job -> job.currentRun().map(InsightJobRun::getUsersProcessed).orElse(0L))
+                    .description("Users processed by the current or last monthly insight run")
+                    .register(registry);
+            Gauge.builder("insight.batch.failures", monthlyInsightJob,
+                            job -> job.currentRun().map(InsightJobRun::getFailures).orElse(0L))
+                    .register(registry);
+            Gauge.builder("insight.batch.user.p99", monthlyInsightJob,
+                            job -> job.currentRun().map(InsightJobRun::getP99Millis).orElse(0L))
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dashboardCacheMetrics(DashboardService dashboardService) {
+        return registry -> {
+            Gauge.builder("dashboard.cache.size", dashboardService, s -> s.stats().getSize())
+                    .register(registry);
+            FunctionCounter.builder("dashboard.cache.requests", dashboardService, s -> s.stats().getHitCount())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("dashboard.cache.requests", dashboardService, s -> s.stats().getMissCount())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("dashboard.cache.evictions", dashboardService, s -> s.stats().getEvictionCount())
+                    .register(registry);
+            FunctionCounter.builder("dashboard.cache.invalidations", dashboardService, s -> s.stats().getInvalidationCount())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitService rateLimitService) {
+        return registry -> {
+            Gauge.builder("rate.limit.buckets", rateLimitService, s -> s.stats().getTrackedBuckets())
+                    .register(registry);
+            for (RateLimitClass limitClass : RateLimitClass.values()) {
+                String name = limitClass.name().toLowerCase(Locale.ROOT);
+                FunctionCounter.builder("rate.limit.requests", rateLimitService, s -> s.stats().getAllowed().get(limitClass))
+                        .tags("class", name, "result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("rate.limit.requests", rateLimitService, s -> s.stats().getThrottled().get(limitClass))
+                        .tags("class", name, "result", "throttled")
+                        .register(registry);
+            }
+            Gauge.builder("analytics.bulkhead.active", rateLimitService, s -> s.stats().getBulkheadActive())
+                    .description("Insight requests holding a bulkhead slot")
+                    .register(registry);
+            Gauge.builder("analytics.bulkhead.limit", rateLimitService, s -> s.stats().getBulkheadLimit())
+                    .register(registry);
+            FunctionCounter.builder("analytics.bulkhead.rejected", rateLimitService, s -> s.stats().getBulkheadRejected())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("auth.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::queued)
+                    .description("Password hashes and verifications waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("auth.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::active)
+                    .register(registry);
+            FunctionCounter.builder("auth.password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::rejected)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationService tokenRevocationService) {
+        return registry -> Gauge.builder("auth.revoked.tokens", tokenRevocationService, TokenRevocationService::size)
+                .description("Revoked access token ids held in memory until their tokens expire")
+                .register(registry);
+    }
+
+    // The worker pool only exists when the Python engine is selected.
+    @Bean
+    public MeterBinder pythonWorkerPoolMetrics(ObjectProvider<PythonWorkerPool> workerPool) {
+        return registry -> workerPool.ifAvailable(pool ->
+                Gauge.builder("insight.python.queue.depth", pool, PythonWorkerPool::queueDepth)
+                        .description("Analysis requests waiting for an idle Python worker")
+                        .register(registry));
+    }
+}
@@ -0,0 +1,56 @@
+package com.FinanceManager.backend.config;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.Callable;
+
+// spring.mvc.async.request-timeout is sized for long-polls. Handlers that stream their body (Flux, emitters and
+// StreamingResponseBody) get their own timeout instead, so live feeds and large exports are not cut off by it.
+// Runs after the timeout is applied and before the request goes async, which is the last point it can change.
+class StreamingAsyncTimeout implements CallableProcessingInterceptor, DeferredResultProcessingInterceptor {
+    private final long timeout;
+
+    StreamingAsyncTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        apply(request);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        apply(request);
+    }
+
+    private void apply(NativeWebRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (request instanceof AsyncWebRequest asyncRequest && handler instanceof HandlerMethod method && streams(method)) {
+            asyncRequest.setTimeout(timeout);
+        }
+    }
+
+    static boolean streams(HandlerMethod method) {
+        ResolvableType type = ResolvableType.forMethodParameter(method.getReturnType());
+        if (ResponseEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        Class<?> body = type.toClass();
+        return StreamingResponseBody.class.isAssignableFrom(body)
+                || ResponseBodyEmitter.class.isAssignableFrom(body)
+                || Flux.class.isAssignableFrom(body);
+    }
+}
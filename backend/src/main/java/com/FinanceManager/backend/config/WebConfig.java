@@ -0,0 +1,31 @@
+package com.FinanceManager.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${application.web.streaming-timeout}")
+    private long streamingTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        StreamingAsyncTimeout interceptor = new StreamingAsyncTimeout(streamingTimeout);
+        configurer.registerCallableInterceptors(interceptor);
+        configurer.registerDeferredResultInterceptors(interceptor);
+    }
+
+    // Clients sending Accept: application/cbor get a binary body. JSON stays the default.
+    // Built from Boot's builder so spring.jackson settings (ISO dates and so on) apply to both encodings.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
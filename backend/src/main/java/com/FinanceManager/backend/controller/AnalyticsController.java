@@ -1,49 +1,191 @@
 package com.FinanceManager.backend.controller;
 
+import com.FinanceManager.backend.entity.DashboardCacheStats;
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.ExpenseSeries;
+import com.FinanceManager.backend.entity.InsightJob;
+import com.FinanceManager.backend.entity.InsightJobRun;
+import com.FinanceManager.backend.entity.InsightJobStats;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.entity.RateLimitStats;
+import com.FinanceManager.backend.entity.SeriesDimension;
+import com.FinanceManager.backend.entity.SeriesGranularity;
 import com.FinanceManager.backend.service.AnalyticsService;
-import com.FinanceManager.backend.service.ExpenseService;
+import com.FinanceManager.backend.service.DashboardService;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.ExpenseSeriesService;
+import com.FinanceManager.backend.service.InsightJobService;
+import com.FinanceManager.backend.service.MonthlyInsightJob;
+import com.FinanceManager.backend.service.RateLimitService;
+import com.FinanceManager.backend.util.ConditionalGet;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
 public class AnalyticsController {
     private final AnalyticsService analyticsService;
-    private final ExpenseService expenseService;
+    private final DashboardService dashboardService;
+    private final MonthlyInsightJob monthlyInsightJob;
+    private final ExpenseSeriesService expenseSeriesService;
+    private final InsightJobService insightJobService;
+    private final DataVersionService dataVersionService;
+    private final RateLimitService rateLimitService;
 
+    @Value("${application.analytics.insight-jobs.max-wait}")
+    private long maxWait;
+
+    // The stats endpoints expose node-wide data about every user, so they are limited to the accounts named here,
+    // as user imports are; empty disables them. The same numbers are published as meters on the management port.
+    @Value("${application.analytics.ops.allowed-users}")
+    private Set<String> opsUsers;
+
+    // Answers from the stored insight when it is current; otherwise runs an insight job and releases the request thread while it waits.
     @GetMapping("/insights")
-    public ResponseEntity<String> getInsights(@RequestParam UUID userId) {
-        try {
-            String insights = analyticsService.getExpenseInsights(userId);
-            return ResponseEntity.ok(insights);
-        } catch (IOException e) {
-            return ResponseEntity.status(500).body("Analysis failed");
+    public CompletableFuture<ResponseEntity<InsightResult>> getInsights(@RequestParam UUID userId,
+                                                                        @RequestParam(defaultValue = "false") boolean force,
+                                                                        WebRequest request) throws IOException {
+        // Read before the insight, so a write racing this request leaves the client with an older tag, never a newer one.
+        String etag = dataVersionService.etag(userId, null, DataResource.EXPENSES);
+        if (!force) {
+            if (request.checkNotModified(etag)) {
+                return CompletableFuture.completedFuture(ConditionalGet.notModified(etag));
+            }
+            Optional<InsightResult> current = analyticsService.findCurrentInsight(userId);
+            if (current.isPresent()) {
+                return CompletableFuture.completedFuture(ConditionalGet.tagged(etag, current.get()));
+            }
         }
+        return insightJobService.submitAndAwait(userId, force).thenApply(job -> job.getStatus() == InsightJob.Status.SUCCEEDED
+                ? ConditionalGet.tagged(etag, job.getResult())
+                : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    @PostMapping("/insights/jobs")
+    public ResponseEntity<InsightJob> submitInsightJob(@RequestParam UUID userId,
+                                                       @RequestParam(defaultValue = "false") boolean force) {
+        InsightJob job = insightJobService.submit(userId, force);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/analytics/insights/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // With wait > 0 the response is held until the job finishes or the wait (capped at max-wait) elapses.
+    @GetMapping("/insights/jobs/{jobId}")
+    public CompletableFuture<ResponseEntity<InsightJob>> getInsightJob(@PathVariable UUID jobId,
+                                                                       @RequestParam(defaultValue = "0") long wait) {
+        InsightJob job = insightJobService.find(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Insight job not found: " + jobId);
+        }
+        CompletableFuture<InsightJob> completion = insightJobService.completion(jobId);
+        if (wait <= 0 || job.isDone() || completion == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(job));
+        }
+        return completion
+                .completeOnTimeout(job, Math.min(wait, maxWait), TimeUnit.MILLISECONDS)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/insights/jobs/stats")
+    public ResponseEntity<InsightJobStats> getInsightJobStats(Authentication authentication) {
+        requireOps(authentication);
+        return ResponseEntity.ok(insightJobService.stats());
     }
 
     @GetMapping("/monthly")
-    public ResponseEntity<BigDecimal> getCurrentMonthExpenses(@RequestParam UUID userId) { return ResponseEntity.ok(expenseService.getCurrentMonthExpenses(userId)); }
+    public ResponseEntity<BigDecimal> getCurrentMonthExpenses(@RequestParam UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, todayTag(userId), () -> dashboardService.getCurrentMonthExpenses(userId));
+    }
 
     @GetMapping("/weekly")
-    public ResponseEntity<BigDecimal> getCurrentWeekExpenses(@RequestParam UUID userId) { return ResponseEntity.ok(expenseService.getCurrentWeekExpenses(userId)); }
+    public ResponseEntity<BigDecimal> getCurrentWeekExpenses(@RequestParam UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, todayTag(userId), () -> dashboardService.getCurrentWeekExpenses(userId));
+    }
 
     @GetMapping("/yearly")
-    public ResponseEntity<BigDecimal> getCurrentYearExpenses(@RequestParam UUID userId) { return ResponseEntity.ok(expenseService.getCurrentYearExpenses(userId)); }
+    public ResponseEntity<BigDecimal> getCurrentYearExpenses(@RequestParam UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, todayTag(userId), () -> dashboardService.getCurrentYearExpenses(userId));
+    }
 
     @GetMapping("/monthly-breakdown")
-    public ResponseEntity<Map<String, BigDecimal>> getMonthlyBreakdown(@RequestParam UUID userId) {
-        return ResponseEntity.ok(expenseService.getMonthlyBreakdown(userId));
+    public ResponseEntity<Map<String, BigDecimal>> getMonthlyBreakdown(@RequestParam UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, todayTag(userId), () -> dashboardService.getMonthlyBreakdown(userId));
     }
 
     @GetMapping("/weekly-breakdown")
-    public ResponseEntity<Map<String, BigDecimal>> getWeeklyBreakdown(@RequestParam UUID userId) {
-        return ResponseEntity.ok(expenseService.getWeeklyBreakdown(userId));
+    public ResponseEntity<Map<String, BigDecimal>> getWeeklyBreakdown(@RequestParam UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, todayTag(userId), () -> dashboardService.getWeeklyBreakdown(userId));
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<ExpenseSeries> getSeries(@RequestParam UUID userId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                   @RequestParam(defaultValue = "month") String granularity,
+                                                   @RequestParam(defaultValue = "") List<String> groupBy,
+                                                   WebRequest request) {
+        try {
+            SeriesGranularity bucket = SeriesGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+            List<SeriesDimension> dimensions = groupBy.stream()
+                    .filter(field -> !field.isBlank())
+                    .map(SeriesDimension::fromField)
+                    .distinct()
+                    .toList();
+            return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.EXPENSES),
+                    () -> expenseSeriesService.getSeries(userId, from, to, bucket, dimensions));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<DashboardCacheStats> getCacheStats(Authentication authentication) {
+        requireOps(authentication);
+        return ResponseEntity.ok(dashboardService.stats());
+    }
+
+    @GetMapping("/limits/stats")
+    public ResponseEntity<RateLimitStats> getRateLimitStats(Authentication authentication) {
+        requireOps(authentication);
+        return ResponseEntity.ok(rateLimitService.stats());
+    }
+
+    @GetMapping("/batch/runs")
+    public ResponseEntity<List<InsightJobRun>> getBatchRuns(Authentication authentication) {
+        requireOps(authentication);
+        return ResponseEntity.ok(monthlyInsightJob.recentRuns());
+    }
+
+    private void requireOps(Authentication authentication) {
+        if (authentication == null || !opsUsers.contains(authentication.getName())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Operational stats are not enabled for this account");
+        }
+    }
+
+    // The totals and breakdowns are relative to today, so the tag also changes when the date does.
+    private String todayTag(UUID userId) {
+        return dataVersionService.etag(userId, LocalDate.now(), DataResource.EXPENSES);
     }
 }
@@ -1,33 +1,111 @@
 package com.FinanceManager.backend.controller;
 
 import com.FinanceManager.backend.entity.AuthRequest;
-import com.FinanceManager.backend.util.JwtUtil;
+import com.FinanceManager.backend.entity.TokenPair;
+import com.FinanceManager.backend.error.InvalidRefreshTokenException;
+import com.FinanceManager.backend.error.PasswordHashingBusyException;
+import com.FinanceManager.backend.service.AuthCache;
+import com.FinanceManager.backend.service.RefreshTokenService;
+import com.FinanceManager.backend.service.TokenRevocationService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// The access token is returned in the body as before; the refresh token only travels in an HttpOnly cookie scoped to /authenticate.
 @RestController
 public class AuthController {
+    private static final String REFRESH_COOKIE = "refresh_token";
+    private static final String REFRESH_PATH = "/authenticate";
 
     @Autowired
     AuthenticationManager authenticationManager;
     @Autowired
-    JwtUtil jwtUtil;
+    RefreshTokenService refreshTokenService;
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+    @Autowired
+    AuthCache authCache;
+
+    @Value("${application.security.refresh-token.cookie-secure}")
+    private boolean secureCookie;
 
     @PostMapping("/authenticate")
-    public String generateToken(@RequestBody AuthRequest authRequest) {
+    public String generateToken(@RequestBody AuthRequest authRequest, HttpServletResponse response) {
         try {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
             );
-            return jwtUtil.generateToken(authRequest.getUsername());
+            TokenPair tokens = refreshTokenService.issue(authRequest.getUsername());
+            setRefreshCookie(response, tokens);
+            return tokens.getAccessToken();
+        }
+        catch (PasswordHashingBusyException e) {
+            throw e;
         }
         catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
+
+    // Exchanges the refresh cookie for a new access token and a rotated refresh cookie, without a password check.
+    @PostMapping("/authenticate/refresh")
+    public String refresh(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken, HttpServletResponse response) {
+        if (refreshToken == null) {
+            throw new InvalidRefreshTokenException("Missing refresh token cookie");
+        }
+        TokenPair tokens = refreshTokenService.rotate(refreshToken);
+        setRefreshCookie(response, tokens);
+        return tokens.getAccessToken();
+    }
+
+    @PostMapping("/authenticate/logout")
+    public ResponseEntity<Void> logout(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken,
+                                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String accessToken = authHeader.substring(7);
+            AuthCache.VerifiedToken verified = authCache.verify(accessToken);
+            if (verified != null) {
+                tokenRevocationService.revoke(verified.tokenId(),
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(verified.expiresAtMillis()), ZoneId.systemDefault()));
+                authCache.invalidateToken(accessToken);
+            }
+        }
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+                .build();
+    }
+
+    private void setRefreshCookie(HttpServletResponse response, TokenPair tokens) {
+        Duration maxAge = Duration.between(LocalDateTime.now(), tokens.getRefreshExpiresAt());
+        response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie(tokens.getRefreshToken(), maxAge).toString());
+    }
+
+    private ResponseCookie refreshCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Strict")
+                .path(REFRESH_PATH)
+                .maxAge(maxAge)
+                .build();
+    }
 }
@@ -0,0 +1,50 @@
+package com.FinanceManager.backend.controller;
+
+import com.FinanceManager.backend.entity.CounterpartyBalance;
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.NetExposure;
+import com.FinanceManager.backend.service.CounterpartyBalanceService;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.util.ConditionalGet;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/counterparties")
+@AllArgsConstructor
+public class CounterpartyController {
+
+    private CounterpartyBalanceService counterpartyBalanceService;
+    private DataVersionService dataVersionService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<CounterpartyBalance>> getBalances(@PathVariable UUID userId,
+                                                                 @RequestParam(defaultValue = "net") String sort,
+                                                                 @RequestParam(defaultValue = "desc") String direction,
+                                                                 @RequestParam(defaultValue = "50") int limit,
+                                                                 WebRequest request) {
+        try {
+            return ConditionalGet.respond(request, etag(userId),
+                    () -> counterpartyBalanceService.getBalances(userId, sort, direction, CursorPage.clampLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/user/{userId}/exposure")
+    public ResponseEntity<NetExposure> getExposure(@PathVariable UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, etag(userId), () -> counterpartyBalanceService.getExposure(userId));
+    }
+
+    private String etag(UUID userId) {
+        return dataVersionService.etag(userId, null, DataResource.DEBTS, DataResource.LOANS);
+    }
+}
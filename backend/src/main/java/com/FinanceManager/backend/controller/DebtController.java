@@ -1,11 +1,29 @@
 package com.FinanceManager.backend.controller;
 
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Debt;
+import com.FinanceManager.backend.entity.DebtResponse;
+import com.FinanceManager.backend.entity.ExportFormat;
+import com.FinanceManager.backend.service.DataVersionService;
 import com.FinanceManager.backend.service.DebtService;
+import com.FinanceManager.backend.service.ExportService;
+import com.FinanceManager.backend.util.ConditionalGet;
+import com.FinanceManager.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,23 +33,65 @@ import java.util.UUID;
 public class DebtController {
 
     private DebtService debtService;
+    private ObjectMapper objectMapper;
+    private ExportService exportService;
+    private DataVersionService dataVersionService;
 
     @GetMapping("/user/{userId}")
-    public List<Debt> getUserDebts(@PathVariable UUID userId) {
-        return debtService.getUserDebts(userId);
+    public ResponseEntity<List<DebtResponse>> getUserDebts(@PathVariable UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.DEBTS),
+                () -> debtService.getUserDebts(userId));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<DebtResponse>> getUserDebtsPage(@PathVariable UUID userId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int limit,
+                                                                   WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.DEBTS),
+                () -> debtService.getUserDebtsPage(userId, cursor, CursorPage.clampLimit(limit)));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserDebts(@PathVariable UUID userId) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                debtService.streamUserDebts(userId, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportDebts(@PathVariable UUID userId,
+                                                             @RequestParam(defaultValue = "csv") String format,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        StreamingResponseBody body = out -> exportService.exportDebts(userId, from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("debts." + exportFormat.getExtension()).build().toString())
+                .body(body);
     }
 
     @PostMapping("/user/{userId}")
-    public ResponseEntity<Debt> createDebt(@PathVariable UUID userId,
+    public ResponseEntity<DebtResponse> createDebt(@PathVariable UUID userId,
                                            @RequestBody Debt debt) {
         Debt saved = debtService.createDebt(userId, debt);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(DebtResponse.from(saved));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Debt> updateDebt(@PathVariable UUID id, @RequestBody Debt debtDetails) {
+    public ResponseEntity<DebtResponse> updateDebt(@PathVariable UUID id, @RequestBody Debt debtDetails) {
         Debt updatedDebt = debtService.updateDebt(id, debtDetails);
-        return ResponseEntity.ok(updatedDebt);
+        return ResponseEntity.ok(DebtResponse.from(updatedDebt));
     }
 
     @DeleteMapping("/{id}")
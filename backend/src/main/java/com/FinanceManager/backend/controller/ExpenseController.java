@@ -1,12 +1,35 @@
 package com.FinanceManager.backend.controller;
 
 import lombok.AllArgsConstructor;
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseResponse;
+import com.FinanceManager.backend.entity.ExportFormat;
+import com.FinanceManager.backend.entity.ExpenseImportResult;
+import com.FinanceManager.backend.error.ExpenseImportAbortedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.ExpenseImportService;
 import com.FinanceManager.backend.service.ExpenseService;
+import com.FinanceManager.backend.service.ExportService;
+import com.FinanceManager.backend.util.ConditionalGet;
+import com.FinanceManager.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,23 +39,95 @@ import java.util.UUID;
 public class ExpenseController {
 
     private ExpenseService expenseService;
+    private ExpenseImportService expenseImportService;
+    private ObjectMapper objectMapper;
+    private ExportService exportService;
+    private DataVersionService dataVersionService;
 
     @GetMapping("/user/{userId}")
-    public List<Expense> getUserExpenses(@PathVariable UUID userId) {
-        return expenseService.getUserExpenses(userId);
+    public ResponseEntity<List<ExpenseResponse>> getUserExpenses(@PathVariable UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.EXPENSES),
+                () -> expenseService.getUserExpenses(userId));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<ExpenseResponse>> getUserExpensesPage(@PathVariable UUID userId,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "50") int limit,
+                                                                           WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.EXPENSES),
+                () -> expenseService.getUserExpensesPage(userId, cursor, CursorPage.clampLimit(limit)));
+    }
+
+    @GetMapping("/user/{userId}/anomalies")
+    public ResponseEntity<List<ExpenseResponse>> getAnomalousExpenses(@PathVariable UUID userId,
+                                                                      @RequestParam(defaultValue = "50") int limit,
+                                                                      WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.EXPENSES),
+                () -> expenseService.getAnomalousExpenses(userId, CursorPage.clampLimit(limit)));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserExpenses(@PathVariable UUID userId) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                expenseService.streamUserExpenses(userId, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(@PathVariable UUID userId,
+                                                                @RequestParam(defaultValue = "csv") String format,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        StreamingResponseBody body = out -> exportService.exportExpenses(userId, from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("expenses." + exportFormat.getExtension()).build().toString())
+                .body(body);
     }
 
     @PostMapping("/user/{userId}")
-    public ResponseEntity<Expense> createExpense(@PathVariable UUID userId,
+    public ResponseEntity<ExpenseResponse> createExpense(@PathVariable UUID userId,
                                                  @RequestBody Expense expense) {
         Expense saved = expenseService.createExpense(userId, expense);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(ExpenseResponse.from(saved));
+    }
+
+    @PostMapping(value = "/user/{userId}/import", consumes = "text/csv")
+    public ExpenseImportResult importCsv(@PathVariable UUID userId, InputStream body) throws IOException {
+        try {
+            return expenseImportService.importCsv(userId, body);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    // A body that turns malformed part-way gets a 400 carrying the partial result: abortedAtRow and what was imported before it.
+    @PostMapping(value = "/user/{userId}/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExpenseImportResult> importJson(@PathVariable UUID userId, InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(expenseImportService.importJson(userId, body));
+        } catch (ExpenseImportAbortedException e) {
+            return ResponseEntity.badRequest().body(e.getResult());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Expense> updateExpense(@PathVariable UUID id, @RequestBody Expense expenseDetails) {
+    public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable UUID id, @RequestBody Expense expenseDetails) {
         Expense updatedExpense = expenseService.updateExpense(id, expenseDetails);
-        return ResponseEntity.ok(updatedExpense);
+        return ResponseEntity.ok(ExpenseResponse.from(updatedExpense));
     }
 
     @DeleteMapping("/{id}")
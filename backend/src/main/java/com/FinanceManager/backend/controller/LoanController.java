@@ -1,11 +1,29 @@
 package com.FinanceManager.backend.controller;
 
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.ExportFormat;
 import com.FinanceManager.backend.entity.Loan;
+import com.FinanceManager.backend.entity.LoanResponse;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.ExportService;
 import com.FinanceManager.backend.service.LoanService;
+import com.FinanceManager.backend.util.ConditionalGet;
+import com.FinanceManager.backend.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,23 +33,65 @@ import java.util.UUID;
 public class LoanController {
 
     private LoanService loanService;
+    private ObjectMapper objectMapper;
+    private ExportService exportService;
+    private DataVersionService dataVersionService;
 
     @GetMapping("/user/{userId}")
-    public List<Loan> getUserLoans(@PathVariable UUID userId) {
-        return loanService.getUserLoans(userId);
+    public ResponseEntity<List<LoanResponse>> getUserLoans(@PathVariable UUID userId, WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.LOANS),
+                () -> loanService.getUserLoans(userId));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPage<LoanResponse>> getUserLoansPage(@PathVariable UUID userId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int limit,
+                                                                   WebRequest request) {
+        return ConditionalGet.respond(request, dataVersionService.etag(userId, null, DataResource.LOANS),
+                () -> loanService.getUserLoansPage(userId, cursor, CursorPage.clampLimit(limit)));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserLoans(@PathVariable UUID userId) {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                loanService.streamUserLoans(userId, writer::write);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLoans(@PathVariable UUID userId,
+                                                             @RequestParam(defaultValue = "csv") String format,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        StreamingResponseBody body = out -> exportService.exportLoans(userId, from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("loans." + exportFormat.getExtension()).build().toString())
+                .body(body);
     }
 
     @PostMapping("/user/{userId}")
-    public ResponseEntity<Loan> createLoan(@PathVariable UUID userId,
+    public ResponseEntity<LoanResponse> createLoan(@PathVariable UUID userId,
                                            @RequestBody Loan loan) {
         Loan saved = loanService.createLoan(userId, loan);
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(LoanResponse.from(saved));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Loan> updateLoan(@PathVariable UUID id, @RequestBody Loan loanDetails) {
+    public ResponseEntity<LoanResponse> updateLoan(@PathVariable UUID id, @RequestBody Loan loanDetails) {
         Loan updatedLoan = loanService.updateLoan(id, loanDetails);
-        return ResponseEntity.ok(updatedLoan);
+        return ResponseEntity.ok(LoanResponse.from(updatedLoan));
     }
 
     @DeleteMapping("/{id}")
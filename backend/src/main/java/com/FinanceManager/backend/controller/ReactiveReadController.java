@@ -0,0 +1,83 @@
+package com.FinanceManager.backend.controller;
+
+import com.FinanceManager.backend.entity.DashboardTotals;
+import com.FinanceManager.backend.entity.DebtReadModel;
+import com.FinanceManager.backend.entity.ExpenseReadModel;
+import com.FinanceManager.backend.entity.LoanReadModel;
+import com.FinanceManager.backend.repository.ReactiveDebtRepository;
+import com.FinanceManager.backend.repository.ReactiveExpenseRepository;
+import com.FinanceManager.backend.repository.ReactiveLoanRepository;
+import com.FinanceManager.backend.service.ReactiveDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Non-blocking reads over R2DBC. Rows are written one at a time as the client consumes them, and no request thread is held meanwhile.
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final ReactiveExpenseRepository reactiveExpenseRepository;
+    private final ReactiveDebtRepository reactiveDebtRepository;
+    private final ReactiveLoanRepository reactiveLoanRepository;
+    private final ReactiveDashboardService reactiveDashboardService;
+
+    @GetMapping(value = "/expenses/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExpenseReadModel> streamExpenses(@PathVariable UUID userId,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return reactiveExpenseRepository.streamByUserId(userId);
+        }
+        return reactiveExpenseRepository.streamByUserIdAndDateBetween(userId, start(from), end(to));
+    }
+
+    @GetMapping(value = "/debts/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DebtReadModel> streamDebts(@PathVariable UUID userId,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return reactiveDebtRepository.streamByUserId(userId);
+        }
+        return reactiveDebtRepository.streamByUserIdAndDateBetween(userId, start(from), end(to));
+    }
+
+    @GetMapping(value = "/loans/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LoanReadModel> streamLoans(@PathVariable UUID userId,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return reactiveLoanRepository.streamByUserId(userId);
+        }
+        return reactiveLoanRepository.streamByUserIdAndDateBetween(userId, start(from), end(to));
+    }
+
+    @GetMapping("/analytics/totals")
+    public Mono<DashboardTotals> getTotals(@RequestParam UUID userId) {
+        return reactiveDashboardService.getTotals(userId);
+    }
+
+    @GetMapping(value = "/analytics/totals/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DashboardTotals>> liveTotals(@RequestParam UUID userId) {
+        return reactiveDashboardService.liveTotals(userId)
+                .map(totals -> ServerSentEvent.builder(totals).event("totals").build());
+    }
+
+    private LocalDate start(LocalDate from) {
+        return from == null ? EARLIEST : from;
+    }
+
+    private LocalDate end(LocalDate to) {
+        return to == null ? LATEST : to;
+    }
+}
@@ -2,12 +2,20 @@ package com.FinanceManager.backend.controller;
 
 import com.FinanceManager.backend.entity.RegisterUserRequest;
 import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.UserImportResult;
 import com.FinanceManager.backend.entity.UserResponse;
+import com.FinanceManager.backend.service.UserImportService;
 import com.FinanceManager.backend.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/user")
@@ -15,10 +23,29 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponse> register(@RequestBody RegisterUserRequest registerUserRequest) {
-        return ResponseEntity.ok(userService.registerUser(registerUserRequest));
+        try {
+            return ResponseEntity.ok(userService.registerUser(registerUserRequest));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    // Bulk onboarding; duplicates and invalid entries are reported per entry rather than failing the request.
+    // Registration is open, so only accounts listed in application.users.import.allowed-users may call it.
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public UserImportResult importUsers(InputStream body, Authentication authentication) throws IOException {
+        if (!userImportService.isAllowed(authentication.getName())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User import is not enabled for this account");
+        }
+        try {
+            return userImportService.importJson(body);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     @GetMapping("/me")
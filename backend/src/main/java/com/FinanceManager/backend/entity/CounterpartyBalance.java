@@ -0,0 +1,48 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Running totals per user and counterparty (a debt's lender or a loan's borrower); net = lent - owed.
+@Entity
+@Table(name = "counterparty_balances")
+@IdClass(CounterpartyBalance.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterpartyBalance {
+    @Id
+    private UUID userId;
+
+    @Id
+    private String counterparty;
+
+    @Column(nullable = false)
+    private BigDecimal owed;
+
+    @Column(nullable = false)
+    private BigDecimal lent;
+
+    @Column(nullable = false)
+    private BigDecimal net;
+
+    private long debtCount;
+    private long loanCount;
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private String counterparty;
+    }
+}
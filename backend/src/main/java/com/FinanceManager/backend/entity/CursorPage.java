@@ -0,0 +1,53 @@
+package com.FinanceManager.backend.entity;
+
+import com.FinanceManager.backend.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    public static int clampLimit(int limit) {
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    // Expects up to limit + 1 rows; the extra row only signals that another page exists.
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    // Dated rows newest first, then undated rows by id descending, so records without a date are paged last rather than
+    // dropped. Each phase is its own keyset query, which keeps the dated phase on the (user_id, date, id) index.
+    // dated receives the cursor (null for the first page); undated receives the last undated id seen, or null.
+    public static <T> CursorPage<T> datedThenUndated(PageCursor after, int limit,
+                                                     BiFunction<PageCursor, Pageable, List<T>> dated,
+                                                     BiFunction<UUID, Pageable, List<T>> undated,
+                                                     Function<T, PageCursor> cursorOf) {
+        boolean inUndated = after != null && after.getDate() == null;
+        List<T> rows = new ArrayList<>();
+        if (!inUndated) {
+            rows.addAll(dated.apply(after, PageRequest.ofSize(limit + 1)));
+        }
+        if (rows.size() <= limit) {
+            rows.addAll(undated.apply(inUndated ? after.getId() : null, PageRequest.ofSize(limit + 1 - rows.size())));
+        }
+        return of(rows, limit, cursorOf);
+    }
+}
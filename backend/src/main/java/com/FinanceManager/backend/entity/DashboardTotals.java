@@ -0,0 +1,16 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class DashboardTotals {
+    private LocalDate asOf;
+    private BigDecimal week;
+    private BigDecimal month;
+    private BigDecimal year;
+}
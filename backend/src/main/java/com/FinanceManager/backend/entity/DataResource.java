@@ -0,0 +1,5 @@
+package com.FinanceManager.backend.entity;
+
+public enum DataResource {
+    EXPENSES, DEBTS, LOANS
+}
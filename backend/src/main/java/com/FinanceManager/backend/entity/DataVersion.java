@@ -0,0 +1,38 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Per-user, per-resource counter bumped in every transaction that changes the resource.
+@Entity
+@Table(name = "data_versions")
+@IdClass(DataVersion.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersion {
+    @Id
+    private UUID userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private DataResource resource;
+
+    private long version;
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private DataResource resource;
+    }
+}
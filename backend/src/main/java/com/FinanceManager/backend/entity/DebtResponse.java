@@ -0,0 +1,30 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class DebtResponse {
+    // Constructor arguments for JPQL projections over Debt d.
+    public static final String COLUMNS = "d.id, d.user.id, d.amount, d.description, d.lender, d.debtDate, d.createdAt, d.updatedAt";
+
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String description;
+    private String lender;
+    private LocalDate debtDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static DebtResponse from(Debt debt) {
+        return new DebtResponse(debt.getId(), debt.getUser().getId(), debt.getAmount(), debt.getDescription(),
+                debt.getLender(), debt.getDebtDate(), debt.getCreatedAt(), debt.getUpdatedAt());
+    }
+}
@@ -1,5 +1,6 @@
 package com.FinanceManager.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -20,8 +21,11 @@ public class Expense {
     @GeneratedValue(generator = "UUID")
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     private BigDecimal amount;
@@ -29,6 +33,9 @@ public class Expense {
     private String category;
     private String payMethod;
     private LocalDate expenseDate;
+    // Set at write time by ExpenseAnomalyService; the score is null until the user has enough history.
+    private boolean anomalous;
+    private Double anomalyScore;
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
 }
@@ -0,0 +1,16 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExpenseBucket {
+    private LocalDate periodStart;
+    private List<String> group;
+    private BigDecimal amount;
+}
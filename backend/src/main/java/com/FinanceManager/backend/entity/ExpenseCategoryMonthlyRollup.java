@@ -0,0 +1,42 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "expense_category_monthly_rollups")
+@IdClass(ExpenseCategoryMonthlyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseCategoryMonthlyRollup {
+    @Id
+    private UUID userId;
+
+    @Id
+    private String category;
+
+    @Id
+    private LocalDate periodMonth;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    private long expenseCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private String category;
+        private LocalDate periodMonth;
+    }
+}
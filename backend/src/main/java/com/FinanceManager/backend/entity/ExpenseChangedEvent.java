@@ -0,0 +1,26 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Published inside the writing transaction; expenseDates is null when the change is too broad to list (bulk imports).
+@Getter
+@AllArgsConstructor
+public class ExpenseChangedEvent {
+    private final UUID userId;
+    private final Set<LocalDate> expenseDates;
+
+    public static ExpenseChangedEvent of(UUID userId, LocalDate... expenseDates) {
+        return new ExpenseChangedEvent(userId, new HashSet<>(Arrays.asList(expenseDates)));
+    }
+
+    public static ExpenseChangedEvent bulk(UUID userId) {
+        return new ExpenseChangedEvent(userId, null);
+    }
+}
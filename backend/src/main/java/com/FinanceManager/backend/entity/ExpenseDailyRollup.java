@@ -0,0 +1,38 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "expense_daily_rollups")
+@IdClass(ExpenseDailyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseDailyRollup {
+    @Id
+    private UUID userId;
+
+    @Id
+    private LocalDate expenseDate;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    private long expenseCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate expenseDate;
+    }
+}
@@ -0,0 +1,30 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// R2DBC view of the expenses table for the reactive read path; writes stay on the JPA Expense entity.
+@Table("expenses")
+@Data
+@NoArgsConstructor
+public class ExpenseReadModel {
+    @Id
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String description;
+    private String category;
+    private String payMethod;
+    private LocalDate expenseDate;
+    private boolean anomalous;
+    private Double anomalyScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What the API returns for an expense: the owner's id instead of the User entity.
+@Data
+@AllArgsConstructor
+public class ExpenseResponse {
+    // Constructor arguments for JPQL projections over Expense e; user.id reads the foreign key without joining users.
+    public static final String COLUMNS = "e.id, e.user.id, e.amount, e.description, e.category, e.payMethod, e.expenseDate, e.anomalous, e.anomalyScore, e.createdAt, e.updatedAt";
+
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String description;
+    private String category;
+    private String payMethod;
+    private LocalDate expenseDate;
+    private boolean anomalous;
+    private Double anomalyScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ExpenseResponse from(Expense expense) {
+        return new ExpenseResponse(expense.getId(), expense.getUser().getId(), expense.getAmount(), expense.getDescription(),
+                expense.getCategory(), expense.getPayMethod(), expense.getExpenseDate(), expense.isAnomalous(),
+                expense.getAnomalyScore(), expense.getCreatedAt(), expense.getUpdatedAt());
+    }
+}
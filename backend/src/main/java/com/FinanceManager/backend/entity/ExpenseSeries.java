@@ -0,0 +1,35 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class ExpenseSeries {
+    private SeriesGranularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> groupBy;
+    private List<Series> series;
+
+    @Data
+    @AllArgsConstructor
+    public static class Series {
+        private Map<String, String> group;
+        private BigDecimal total;
+        private List<Point> points;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Point {
+        private String period;
+        private LocalDate start;
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,49 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Running amount statistics per user and category; category "*" covers all of the user's expenses.
+@Entity
+@Table(name = "expense_stats")
+@IdClass(ExpenseStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseStats {
+    public static final String ALL_CATEGORIES = "*";
+
+    @Id
+    private UUID userId;
+
+    @Id
+    private String category;
+
+    private long sampleCount;
+    private double mean;
+    // Sum of squared deviations from the mean (Welford), so variance = m2 / sampleCount.
+    private double m2;
+    private double median;
+    private double medianAbsDeviation;
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public ExpenseStats(UUID userId, String category) {
+        this.userId = userId;
+        this.category = category;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private String category;
+    }
+}
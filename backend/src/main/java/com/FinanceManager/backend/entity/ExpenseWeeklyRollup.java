@@ -0,0 +1,39 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "expense_weekly_rollups")
+@IdClass(ExpenseWeeklyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseWeeklyRollup {
+    @Id
+    private UUID userId;
+
+    // The Monday the week starts on.
+    @Id
+    private LocalDate weekStart;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    private long expenseCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private LocalDate weekStart;
+    }
+}
@@ -1,5 +1,6 @@
 package com.FinanceManager.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -13,8 +14,11 @@ public class Insight {
     @Id
     @GeneratedValue(generator = "UUID")
     private UUID id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
     private String label;
     private String trend;
@@ -23,6 +27,7 @@ public class Insight {
     private String suggestions;
     @Column(columnDefinition = "TEXT")
     private String anomalies;
+    private Long dataVersion;
 
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -0,0 +1,29 @@
+package com.FinanceManager.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// In-memory state of an asynchronous insight run; written by the job thread and read by pollers.
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InsightJob {
+    private final UUID id;
+    private final UUID userId;
+    private volatile Status status = Status.QUEUED;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile InsightResult result;
+    private volatile String error;
+
+    public boolean isDone() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+}
@@ -0,0 +1,36 @@
+package com.FinanceManager.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "insight_job_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InsightJobRun {
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    private UUID lastUserId;
+    private long usersProcessed;
+    private long failures;
+    private long p50Millis;
+    private long p99Millis;
+    private long wallMillis;
+    private LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+}
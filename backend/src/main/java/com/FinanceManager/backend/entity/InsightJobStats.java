@@ -0,0 +1,18 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class InsightJobStats {
+    private int queued;
+    private int running;
+    private int queueCapacity;
+    private long oldestQueuedAgeMillis;
+    private long submitted;
+    private long deduplicated;
+    private long rejected;
+    private long succeeded;
+    private long failed;
+}
@@ -0,0 +1,24 @@
+package com.FinanceManager.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InsightResult {
+    private String userId;
+    private String topCategory;
+    private String label;
+    private String trend;
+    private List<String> suggestions;
+    private List<Map<String, Object>> anomalies;
+}
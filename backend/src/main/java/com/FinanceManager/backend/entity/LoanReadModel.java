@@ -0,0 +1,26 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table("loans")
+@Data
+@NoArgsConstructor
+public class LoanReadModel {
+    @Id
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String description;
+    private String borrower;
+    private LocalDate loanDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
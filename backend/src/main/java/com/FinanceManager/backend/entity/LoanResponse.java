@@ -0,0 +1,30 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class LoanResponse {
+    // Constructor arguments for JPQL projections over Loan l.
+    public static final String COLUMNS = "l.id, l.user.id, l.amount, l.description, l.borrower, l.loanDate, l.createdAt, l.updatedAt";
+
+    private UUID id;
+    private UUID userId;
+    private BigDecimal amount;
+    private String description;
+    private String borrower;
+    private LocalDate loanDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static LoanResponse from(Loan loan) {
+        return new LoanResponse(loan.getId(), loan.getUser().getId(), loan.getAmount(), loan.getDescription(),
+                loan.getBorrower(), loan.getLoanDate(), loan.getCreatedAt(), loan.getUpdatedAt());
+    }
+}
@@ -0,0 +1,15 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class NetExposure {
+    private BigDecimal owed;
+    private BigDecimal lent;
+    private BigDecimal net;
+    private long counterparties;
+}
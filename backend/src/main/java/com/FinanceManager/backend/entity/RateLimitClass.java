@@ -0,0 +1,39 @@
+package com.FinanceManager.backend.entity;
+
+// Endpoint classes with separate token buckets, so a client exhausting one class keeps its budget for the others.
+public enum RateLimitClass {
+    CRUD(false),
+    ANALYTICS(false),
+    BULK(false),
+    INSIGHTS(true);
+
+    private final boolean bulkheaded;
+
+    RateLimitClass(boolean bulkheaded) {
+        this.bulkheaded = bulkheaded;
+    }
+
+    // Insight requests may start an engine run, so they also need a slot in the global analytics bulkhead.
+    public boolean isBulkheaded() {
+        return bulkheaded;
+    }
+
+    // Returns null for paths outside /api, which are not limited.
+    public static RateLimitClass of(String method, String path) {
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        if (path.equals("/api/analytics/insights")
+                || ("POST".equals(method) && path.equals("/api/analytics/insights/jobs"))) {
+            return INSIGHTS;
+        }
+        if (path.endsWith("/export") || path.endsWith("/import")
+                || (path.startsWith("/api/reactive/") && !path.startsWith("/api/reactive/analytics/"))) {
+            return BULK;
+        }
+        if (path.startsWith("/api/analytics/") || path.startsWith("/api/reactive/analytics/")) {
+            return ANALYTICS;
+        }
+        return CRUD;
+    }
+}
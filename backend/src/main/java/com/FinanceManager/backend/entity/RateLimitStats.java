@@ -0,0 +1,18 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class RateLimitStats {
+    private boolean enabled;
+    private long trackedBuckets;
+    private Map<RateLimitClass, Long> allowed;
+    private Map<RateLimitClass, Long> throttled;
+    private int bulkheadActive;
+    private int bulkheadLimit;
+    private long bulkheadRejected;
+}
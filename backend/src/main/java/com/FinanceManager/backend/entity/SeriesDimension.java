@@ -0,0 +1,22 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum SeriesDimension {
+    CATEGORY("category"),
+    PAY_METHOD("payMethod");
+
+    private final String field;
+
+    public static SeriesDimension fromField(String field) {
+        for (SeriesDimension dimension : values()) {
+            if (dimension.field.equalsIgnoreCase(field)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown series dimension: " + field);
+    }
+}
@@ -0,0 +1,40 @@
+package com.FinanceManager.backend.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+public enum SeriesGranularity {
+    DAY, WEEK, MONTH, QUARTER, YEAR;
+
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.get(IsoFields.QUARTER_OF_YEAR) - 1) * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
+    public String key(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.toString();
+            case WEEK -> String.format("%d-W%02d",
+                    bucketStart.get(IsoFields.WEEK_BASED_YEAR), bucketStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> String.format("%d-%02d", bucketStart.getYear(), bucketStart.getMonthValue());
+            case QUARTER -> bucketStart.getYear() + "-Q" + bucketStart.get(IsoFields.QUARTER_OF_YEAR);
+            case YEAR -> String.valueOf(bucketStart.getYear());
+        };
+    }
+}
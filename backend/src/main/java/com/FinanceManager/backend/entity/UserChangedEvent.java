@@ -0,0 +1,11 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published whenever a stored user changes (e.g. a rehashed password), so cached principals for it are dropped.
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final String username;
+}
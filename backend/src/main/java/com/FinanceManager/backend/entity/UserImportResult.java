@@ -0,0 +1,34 @@
+package com.FinanceManager.backend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class UserImportResult {
+    private long received;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    // Valid entries left out because password hashing was saturated after earlier batches had been created.
+    private long skipped;
+    private long elapsedMillis;
+    private List<Entry> entries;
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, SKIPPED
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private long row;
+        private String username;
+        private Status status;
+        private UUID id;
+        private String message;
+    }
+}
@@ -0,0 +1,11 @@
+package com.FinanceManager.backend.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Analytics is busy, try again later.")
+public class AnalyticsUnavailableException extends RuntimeException {
+    public AnalyticsUnavailableException(String message) {
+        super(message);
+    }
+}
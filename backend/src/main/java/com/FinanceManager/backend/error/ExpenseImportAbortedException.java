@@ -0,0 +1,15 @@
+package com.FinanceManager.backend.error;
+
+import com.FinanceManager.backend.entity.ExpenseImportResult;
+import lombok.Getter;
+
+// Thrown when the import body itself is malformed part-way through; the result covers what was committed before it.
+@Getter
+public class ExpenseImportAbortedException extends RuntimeException {
+    private final transient ExpenseImportResult result;
+
+    public ExpenseImportAbortedException(String message, ExpenseImportResult result) {
+        super(message);
+        this.result = result;
+    }
+}
@@ -1,7 +1,7 @@
 package com.FinanceManager.backend.filters;
 
-import com.FinanceManager.backend.service.CustomUserDetailsService;
-import com.FinanceManager.backend.util.JwtUtil;
+import com.FinanceManager.backend.service.AuthCache;
+import com.FinanceManager.backend.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,8 +22,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final AuthCache authCache;
+    private final TokenRevocationService tokenRevocationService;
     private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
             "/authenticate",
             "/api/user/register"
@@ -39,27 +39,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
         String username = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
-                logger.warn("JWT token processing failed: " + e.getMessage());
+            AuthCache.VerifiedToken verified = authCache.verify(authHeader.substring(7));
+            if (verified == null) {
+                logger.warn("JWT token processing failed for " + requestPath);
+            } else if (tokenRevocationService.isRevoked(verified.tokenId())) {
+                logger.warn("Revoked JWT token presented for " + requestPath);
+            } else {
+                username = verified.username();
             }
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            UserDetails userDetails = authCache.userDetails(username);
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
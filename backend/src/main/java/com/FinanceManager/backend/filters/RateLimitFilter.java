@@ -0,0 +1,111 @@
+package com.FinanceManager.backend.filters;
+
+import com.FinanceManager.backend.entity.RateLimitClass;
+import com.FinanceManager.backend.service.RateLimitService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs after JwtAuthFilter so authenticated requests are limited per user; anything else is limited per remote address.
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitClass limitClass = RateLimitClass.of(request.getMethod(), request.getRequestURI());
+        if (limitClass == null || !rateLimitService.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = rateLimitService.tryAcquire(clientKey(request), limitClass);
+        if (retryAfter > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Rate limit exceeded for " + limitClass.name().toLowerCase(Locale.ROOT) + " requests.");
+            return;
+        }
+        if (!limitClass.isBulkheaded()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!rateLimitService.tryEnterBulkhead()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, rateLimitService.bulkheadRetryAfter(), "Analytics is busy, try again later.");
+            return;
+        }
+        boolean releasedLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Async insight requests hold their slot until the response completes, not just until the request thread is freed.
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new BulkheadRelease());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                rateLimitService.exitBulkhead();
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private class BulkheadRelease implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                rateLimitService.exitBulkhead();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.CounterpartyBalance;
+import com.FinanceManager.backend.entity.NetExposure;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface CounterpartyBalanceRepository extends JpaRepository<CounterpartyBalance, CounterpartyBalance.Key> {
+    List<CounterpartyBalance> findByUserId(UUID userId, Pageable pageable);
+
+    // Sums are null when the user has no counterparties.
+    @Query("SELECT new com.FinanceManager.backend.entity.NetExposure(SUM(b.owed), SUM(b.lent), SUM(b.net), COUNT(b)) " +
+            "FROM CounterpartyBalance b WHERE b.userId = :userId")
+    NetExposure sumByUserId(UUID userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CounterpartyBalance b SET b.owed = b.owed + :owed, b.lent = b.lent + :lent, b.net = b.net + :lent - :owed, " +
+            "b.debtCount = b.debtCount + :debtCount, b.loanCount = b.loanCount + :loanCount, b.updatedAt = :now " +
+            "WHERE b.userId = :userId AND b.counterparty = :counterparty")
+    int increment(UUID userId, String counterparty, BigDecimal owed, BigDecimal lent, long debtCount, long loanCount, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM CounterpartyBalance b WHERE b.userId = :userId AND b.counterparty = :counterparty " +
+            "AND b.debtCount <= 0 AND b.loanCount <= 0")
+    int deleteIfEmpty(UUID userId, String counterparty);
+}
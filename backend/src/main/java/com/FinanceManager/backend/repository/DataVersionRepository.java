@@ -0,0 +1,14 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DataVersionRepository extends JpaRepository<DataVersion, DataVersion.Key> {
+    @Query("SELECT v.version FROM DataVersion v WHERE v.userId = :userId AND v.resource = :resource")
+    Optional<Long> findVersion(UUID userId, DataResource resource);
+}
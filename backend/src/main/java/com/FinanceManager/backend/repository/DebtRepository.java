@@ -1,11 +1,54 @@
 package com.FinanceManager.backend.repository;
 
 import com.FinanceManager.backend.entity.Debt;
+import com.FinanceManager.backend.entity.DebtResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface DebtRepository extends JpaRepository<Debt, UUID> {
     List<Debt> findByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId")
+    List<DebtResponse> findResponsesByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId AND d.debtDate IS NOT NULL ORDER BY d.debtDate DESC, d.id DESC")
+    List<DebtResponse> findPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId " +
+            "AND (d.debtDate < :date OR (d.debtDate = :date AND d.id < :id)) ORDER BY d.debtDate DESC, d.id DESC")
+    List<DebtResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId AND d.debtDate IS NULL ORDER BY d.id DESC")
+    List<DebtResponse> findUndatedPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId AND d.debtDate IS NULL AND d.id < :id ORDER BY d.id DESC")
+    List<DebtResponse> findUndatedPageByUserIdAfter(UUID userId, UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.FinanceManager.backend.entity.DebtResponse(" + DebtResponse.COLUMNS + ") FROM Debt d WHERE d.user.id = :userId ORDER BY d.debtDate DESC, d.id DESC")
+    Stream<DebtResponse> streamByUserId(UUID userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Debt d WHERE d.user.id = :userId AND d.debtDate BETWEEN :from AND :to ORDER BY d.debtDate, d.id")
+    Stream<Debt> streamByUserIdAndDebtDateBetween(UUID userId, LocalDate from, LocalDate to);
+
+    // Every record, undated ones last, for exports without a date range.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Debt d WHERE d.user.id = :userId ORDER BY d.debtDate NULLS LAST, d.id")
+    Stream<Debt> streamAllByUserId(UUID userId);
 }
@@ -0,0 +1,30 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseCategoryMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpenseCategoryMonthlyRollupRepository extends JpaRepository<ExpenseCategoryMonthlyRollup, ExpenseCategoryMonthlyRollup.Key> {
+    @Query("SELECT r.periodMonth, SUM(r.total) FROM ExpenseCategoryMonthlyRollup r WHERE r.userId = :userId GROUP BY r.periodMonth")
+    List<Object[]> sumByUserGroupByMonth(UUID userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseCategoryMonthlyRollup r SET r.total = r.total + :amount, r.expenseCount = r.expenseCount + :count " +
+            "WHERE r.userId = :userId AND r.category = :category AND r.periodMonth = :periodMonth")
+    int increment(UUID userId, String category, LocalDate periodMonth, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseCategoryMonthlyRollup r " +
+            "WHERE r.userId = :userId AND r.category = :category AND r.periodMonth = :periodMonth AND r.expenseCount <= 0")
+    int deleteIfEmpty(UUID userId, String category, LocalDate periodMonth);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseCategoryMonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUser(UUID userId);
+}
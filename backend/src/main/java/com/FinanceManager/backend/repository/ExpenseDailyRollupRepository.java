@@ -0,0 +1,31 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpenseDailyRollupRepository extends JpaRepository<ExpenseDailyRollup, ExpenseDailyRollup.Key> {
+    List<ExpenseDailyRollup> findByUserIdOrderByExpenseDate(UUID userId);
+
+    @Query("SELECT SUM(r.total) FROM ExpenseDailyRollup r WHERE r.userId = :userId AND r.expenseDate BETWEEN :start AND :end")
+    BigDecimal sumByUserAndExpenseDateBetween(UUID userId, LocalDate start, LocalDate end);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseDailyRollup r SET r.total = r.total + :amount, r.expenseCount = r.expenseCount + :count " +
+            "WHERE r.userId = :userId AND r.expenseDate = :expenseDate")
+    int increment(UUID userId, LocalDate expenseDate, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.userId = :userId AND r.expenseDate = :expenseDate AND r.expenseCount <= 0")
+    int deleteIfEmpty(UUID userId, LocalDate expenseDate);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.userId = :userId")
+    int deleteByUser(UUID userId);
+}
@@ -1,17 +1,83 @@
 package com.FinanceManager.backend.repository;
 
 import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
+public interface ExpenseRepository extends JpaRepository<Expense, UUID>, ExpenseRepositoryCustom {
+    // Full-history loads for analytics; read-only so they can be served by the replica.
+    @Transactional(readOnly = true)
     List<Expense> findByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId")
+    List<ExpenseResponse> findResponsesByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId AND e.expenseDate IS NOT NULL ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId " +
+            "AND (e.expenseDate < :date OR (e.expenseDate = :date AND e.id < :id)) ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId AND e.expenseDate IS NULL ORDER BY e.id DESC")
+    List<ExpenseResponse> findUndatedPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId AND e.expenseDate IS NULL AND e.id < :id ORDER BY e.id DESC")
+    List<ExpenseResponse> findUndatedPageByUserIdAfter(UUID userId, UUID id, Pageable pageable);
+
+    // Served by the partial index on anomalous expenses.
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId AND e.anomalous = true ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseResponse> findAnomalousByUserId(UUID userId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.FinanceManager.backend.entity.ExpenseResponse(" + ExpenseResponse.COLUMNS + ") FROM Expense e WHERE e.user.id = :userId ORDER BY e.expenseDate DESC, e.id DESC")
+    Stream<ExpenseResponse> streamByUserId(UUID userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :from AND :to ORDER BY e.expenseDate, e.id")
+    Stream<Expense> streamByUserIdAndExpenseDateBetween(UUID userId, LocalDate from, LocalDate to);
+
+    // Every record, undated ones last, for exports without a date range.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.expenseDate NULLS LAST, e.id")
+    Stream<Expense> streamAllByUserId(UUID userId);
+
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :start AND :end")
     BigDecimal sumByUserAndExpenseDateBetween(UUID userId, LocalDate start, LocalDate end);
 
+    @Query("SELECT e.expenseDate, COALESCE(SUM(e.amount), 0), COUNT(e) FROM Expense e " +
+            "WHERE e.user.id = :userId AND e.expenseDate IS NOT NULL GROUP BY e.expenseDate")
+    List<Object[]> sumByUserGroupByDay(UUID userId);
+
+    @Query("SELECT e.category, EXTRACT(YEAR FROM e.expenseDate), EXTRACT(MONTH FROM e.expenseDate), COALESCE(SUM(e.amount), 0), COUNT(e) " +
+            "FROM Expense e WHERE e.user.id = :userId AND e.expenseDate IS NOT NULL " +
+            "GROUP BY e.category, EXTRACT(YEAR FROM e.expenseDate), EXTRACT(MONTH FROM e.expenseDate)")
+    List<Object[]> sumByUserGroupByCategoryAndMonth(UUID userId);
+
+    @Query("SELECT e.category, COUNT(e), SUM(e.amount), SUM(e.amount * e.amount) FROM Expense e " +
+            "WHERE e.user.id = :userId AND e.amount IS NOT NULL GROUP BY e.category")
+    List<Object[]> summarizeAmountsByCategory(UUID userId);
+
+    @Query("SELECT e.category, COUNT(e), SUM(e.amount), SUM(e.amount * e.amount) FROM Expense e " +
+            "WHERE e.user.id = :userId AND e.amount IS NOT NULL AND e.id NOT IN :excludedIds GROUP BY e.category")
+    List<Object[]> summarizeAmountsByCategoryExcluding(UUID userId, Collection<UUID> excludedIds);
 }
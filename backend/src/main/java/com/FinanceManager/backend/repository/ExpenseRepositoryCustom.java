@@ -0,0 +1,14 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseBucket;
+import com.FinanceManager.backend.entity.SeriesDimension;
+import com.FinanceManager.backend.entity.SeriesGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpenseRepositoryCustom {
+    List<ExpenseBucket> sumByBucket(UUID userId, LocalDate from, LocalDate to,
+                                    SeriesGranularity granularity, List<SeriesDimension> groupBy);
+}
@@ -0,0 +1,72 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseBucket;
+import com.FinanceManager.backend.entity.SeriesDimension;
+import com.FinanceManager.backend.entity.SeriesGranularity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+    private static final String YEAR = "EXTRACT(YEAR FROM e.expenseDate)";
+    private static final String MONTH = "EXTRACT(MONTH FROM e.expenseDate)";
+    private static final String QUARTER = "EXTRACT(QUARTER FROM e.expenseDate)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Weeks are bucketed by day in SQL and folded into ISO weeks by the caller, since week-start
+    // truncation is not portable across the databases this runs on.
+    @Override
+    public List<ExpenseBucket> sumByBucket(UUID userId, LocalDate from, LocalDate to,
+                                           SeriesGranularity granularity, List<SeriesDimension> groupBy) {
+        List<String> keys = new ArrayList<>(switch (granularity) {
+            case DAY, WEEK -> List.of("e.expenseDate");
+            case MONTH -> List.of(YEAR, MONTH);
+            case QUARTER -> List.of(YEAR, QUARTER);
+            case YEAR -> List.of(YEAR);
+        });
+        int periodColumns = keys.size();
+        groupBy.forEach(dimension -> keys.add("e." + dimension.getField()));
+
+        String columns = String.join(", ", keys);
+        String jpql = "SELECT " + columns + ", SUM(e.amount) FROM Expense e " +
+                "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :from AND :to " +
+                "GROUP BY " + columns;
+
+        List<Object[]> rows = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+
+        List<ExpenseBucket> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            List<String> group = new ArrayList<>(groupBy.size());
+            for (int i = 0; i < groupBy.size(); i++) {
+                group.add((String) row[periodColumns + i]);
+            }
+            BigDecimal amount = (BigDecimal) row[row.length - 1];
+            buckets.add(new ExpenseBucket(periodStart(granularity, row), group, amount == null ? BigDecimal.ZERO : amount));
+        }
+        return buckets;
+    }
+
+    private static LocalDate periodStart(SeriesGranularity granularity, Object[] row) {
+        return switch (granularity) {
+            case DAY, WEEK -> (LocalDate) row[0];
+            case MONTH -> LocalDate.of(number(row[0]), number(row[1]), 1);
+            case QUARTER -> LocalDate.of(number(row[0]), (number(row[1]) - 1) * 3 + 1, 1);
+            case YEAR -> LocalDate.of(number(row[0]), 1, 1);
+        };
+    }
+
+    private static int number(Object value) {
+        return ((Number) value).intValue();
+    }
+}
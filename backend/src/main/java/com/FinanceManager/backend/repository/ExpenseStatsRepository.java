@@ -0,0 +1,18 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpenseStatsRepository extends JpaRepository<ExpenseStats, ExpenseStats.Key> {
+    // Row locks serialize concurrent writes for the same user and category.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ExpenseStats s WHERE s.userId = :userId AND s.category IN :categories")
+    List<ExpenseStats> findForUpdate(UUID userId, Collection<String> categories);
+}
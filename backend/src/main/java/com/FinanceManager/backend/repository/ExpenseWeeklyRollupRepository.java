@@ -0,0 +1,28 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseWeeklyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpenseWeeklyRollupRepository extends JpaRepository<ExpenseWeeklyRollup, ExpenseWeeklyRollup.Key> {
+    List<ExpenseWeeklyRollup> findByUserIdOrderByWeekStart(UUID userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ExpenseWeeklyRollup r SET r.total = r.total + :amount, r.expenseCount = r.expenseCount + :count " +
+            "WHERE r.userId = :userId AND r.weekStart = :weekStart")
+    int increment(UUID userId, LocalDate weekStart, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseWeeklyRollup r WHERE r.userId = :userId AND r.weekStart = :weekStart AND r.expenseCount <= 0")
+    int deleteIfEmpty(UUID userId, LocalDate weekStart);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseWeeklyRollup r WHERE r.userId = :userId")
+    int deleteByUser(UUID userId);
+}
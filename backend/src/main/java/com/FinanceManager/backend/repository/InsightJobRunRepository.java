@@ -0,0 +1,12 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.InsightJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InsightJobRunRepository extends JpaRepository<InsightJobRun, UUID> {
+    List<InsightJobRun> findByStatusOrderByStartedAtDesc(InsightJobRun.Status status);
+    List<InsightJobRun> findTop20ByOrderByStartedAtDesc();
+}
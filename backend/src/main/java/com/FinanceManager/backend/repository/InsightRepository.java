@@ -4,8 +4,12 @@ import com.FinanceManager.backend.entity.Insight;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface InsightRepository extends JpaRepository<Insight, UUID> {
     List<Insight> findByUserId(UUID userId);
+
+    // Served by the (user_id, created_at) index.
+    Optional<Insight> findFirstByUserIdOrderByCreatedAtDesc(UUID userId);
 }
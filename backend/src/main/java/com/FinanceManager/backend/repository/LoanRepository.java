@@ -1,11 +1,54 @@
 package com.FinanceManager.backend.repository;
 
 import com.FinanceManager.backend.entity.Loan;
+import com.FinanceManager.backend.entity.LoanResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface LoanRepository extends JpaRepository<Loan, UUID> {
     List<Loan> findByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId")
+    List<LoanResponse> findResponsesByUserId(UUID userId);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId AND l.loanDate IS NOT NULL ORDER BY l.loanDate DESC, l.id DESC")
+    List<LoanResponse> findPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId " +
+            "AND (l.loanDate < :date OR (l.loanDate = :date AND l.id < :id)) ORDER BY l.loanDate DESC, l.id DESC")
+    List<LoanResponse> findPageByUserIdAfter(UUID userId, LocalDate date, UUID id, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId AND l.loanDate IS NULL ORDER BY l.id DESC")
+    List<LoanResponse> findUndatedPageByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId AND l.loanDate IS NULL AND l.id < :id ORDER BY l.id DESC")
+    List<LoanResponse> findUndatedPageByUserIdAfter(UUID userId, UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.FinanceManager.backend.entity.LoanResponse(" + LoanResponse.COLUMNS + ") FROM Loan l WHERE l.user.id = :userId ORDER BY l.loanDate DESC, l.id DESC")
+    Stream<LoanResponse> streamByUserId(UUID userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Loan l WHERE l.user.id = :userId AND l.loanDate BETWEEN :from AND :to ORDER BY l.loanDate, l.id")
+    Stream<Loan> streamByUserIdAndLoanDateBetween(UUID userId, LocalDate from, LocalDate to);
+
+    // Every record, undated ones last, for exports without a date range.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Loan l WHERE l.user.id = :userId ORDER BY l.loanDate NULLS LAST, l.id")
+    Stream<Loan> streamAllByUserId(UUID userId);
 }
@@ -0,0 +1,17 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.DebtReadModel;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ReactiveDebtRepository extends R2dbcRepository<DebtReadModel, UUID> {
+    @Query("SELECT * FROM debts WHERE user_id = :userId ORDER BY debt_date DESC, id DESC")
+    Flux<DebtReadModel> streamByUserId(UUID userId);
+
+    @Query("SELECT * FROM debts WHERE user_id = :userId AND debt_date BETWEEN :from AND :to ORDER BY debt_date, id")
+    Flux<DebtReadModel> streamByUserIdAndDateBetween(UUID userId, LocalDate from, LocalDate to);
+}
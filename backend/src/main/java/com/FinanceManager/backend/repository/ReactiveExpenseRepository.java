@@ -0,0 +1,17 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.ExpenseReadModel;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ReactiveExpenseRepository extends R2dbcRepository<ExpenseReadModel, UUID> {
+    @Query("SELECT * FROM expenses WHERE user_id = :userId ORDER BY expense_date DESC, id DESC")
+    Flux<ExpenseReadModel> streamByUserId(UUID userId);
+
+    @Query("SELECT * FROM expenses WHERE user_id = :userId AND expense_date BETWEEN :from AND :to ORDER BY expense_date, id")
+    Flux<ExpenseReadModel> streamByUserIdAndDateBetween(UUID userId, LocalDate from, LocalDate to);
+}
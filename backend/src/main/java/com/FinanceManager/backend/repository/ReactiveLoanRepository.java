@@ -0,0 +1,17 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.LoanReadModel;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ReactiveLoanRepository extends R2dbcRepository<LoanReadModel, UUID> {
+    @Query("SELECT * FROM loans WHERE user_id = :userId ORDER BY loan_date DESC, id DESC")
+    Flux<LoanReadModel> streamByUserId(UUID userId);
+
+    @Query("SELECT * FROM loans WHERE user_id = :userId AND loan_date BETWEEN :from AND :to ORDER BY loan_date, id")
+    Flux<LoanReadModel> streamByUserIdAndDateBetween(UUID userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,30 @@
+package com.FinanceManager.backend.repository;
+
+import com.FinanceManager.backend.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    List<RefreshToken> findByFamilyIdAndCreatedAtAfter(UUID familyId, LocalDateTime createdAfter);
+
+    // Matches only while the token is still unrevoked, so of two concurrent rotations exactly one wins.
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now, r.replacedBy = :replacedBy WHERE r.id = :id AND r.revokedAt IS NULL")
+    int markRotated(UUID id, UUID replacedBy, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :now WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(UUID familyId, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,119 @@
+package com.FinanceManager.backend.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Creates-or-updates counter rows (rollups, versions, running balances) without racing a concurrent first write
+// for the same key. PostgreSQL does it in one INSERT ... ON CONFLICT statement. Elsewhere (H2 in tests) the insert
+// runs only when nothing matched, and a duplicate key from a concurrent insert falls back to the update; H2 keeps
+// the transaction usable after a failed statement, which PostgreSQL would not.
+@Slf4j
+@Component
+public class Upserts {
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean onConflictSupported;
+
+    public Upserts(DataSource dataSource) throws SQLException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            this.onConflictSupported = connection.isWrapperFor(PGConnection.class);
+        }
+        log.info("Counter rows will be written with {}", onConflictSupported ? "INSERT ... ON CONFLICT" : "update-then-insert");
+    }
+
+    // Adds each delta to its column and sets each assignment; a missing row is inserted with the deltas as its values.
+    public void increment(String table, Map<String, Object> key, Map<String, Object> deltas, Map<String, Object> assignments) {
+        List<Object> insertArgs = new ArrayList<>();
+        StringJoiner columns = new StringJoiner(", ");
+        for (Map<String, Object> part : List.of(key, deltas, assignments)) {
+            part.forEach((column, value) -> {
+                columns.add(column);
+                insertArgs.add(value);
+            });
+        }
+        String insert = "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders(insertArgs.size()) + ")";
+
+        if (onConflictSupported) {
+            StringJoiner set = new StringJoiner(", ");
+            deltas.keySet().forEach(column -> set.add(column + " = " + table + "." + column + " + EXCLUDED." + column));
+            assignments.keySet().forEach(column -> set.add(column + " = EXCLUDED." + column));
+            jdbcTemplate.update(insert + " ON CONFLICT (" + String.join(", ", key.keySet()) + ") DO UPDATE SET " + set,
+                    insertArgs.toArray());
+            return;
+        }
+
+        if (update(table, key, deltas, assignments) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(insert, insertArgs.toArray());
+        } catch (DuplicateKeyException e) {
+            update(table, key, deltas, assignments);
+        }
+    }
+
+    // Inserts the row unless one with the same key exists; returns whether it was inserted.
+    public boolean insertIfAbsent(String table, Map<String, Object> key, Map<String, Object> values) {
+        List<Object> args = new ArrayList<>();
+        StringJoiner columns = new StringJoiner(", ");
+        for (Map<String, Object> part : List.of(key, values)) {
+            part.forEach((column, value) -> {
+                columns.add(column);
+                args.add(value);
+            });
+        }
+        String insert = "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders(args.size()) + ")";
+
+        if (onConflictSupported) {
+            return jdbcTemplate.update(insert + " ON CONFLICT (" + String.join(", ", key.keySet()) + ") DO NOTHING",
+                    args.toArray()) > 0;
+        }
+        StringJoiner where = new StringJoiner(" AND ");
+        key.keySet().forEach(column -> where.add(column + " = ?"));
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + where,
+                Integer.class, key.values().toArray());
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        try {
+            return jdbcTemplate.update(insert, args.toArray()) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private int update(String table, Map<String, Object> key, Map<String, Object> deltas, Map<String, Object> assignments) {
+        List<Object> args = new ArrayList<>();
+        StringJoiner set = new StringJoiner(", ");
+        deltas.forEach((column, value) -> {
+            set.add(column + " = " + column + " + ?");
+            args.add(value);
+        });
+        assignments.forEach((column, value) -> {
+            set.add(column + " = ?");
+            args.add(value);
+        });
+        StringJoiner where = new StringJoiner(" AND ");
+        key.forEach((column, value) -> {
+            where.add(column + " = ?");
+            args.add(value);
+        });
+        return jdbcTemplate.update("UPDATE " + table + " SET " + set + " WHERE " + where, args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,80 +1,88 @@
 package com.FinanceManager.backend.service;
 
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Expense;
 import com.FinanceManager.backend.entity.Insight;
+import com.FinanceManager.backend.entity.InsightResult;
 import com.FinanceManager.backend.repository.ExpenseRepository;
 import com.FinanceManager.backend.repository.InsightRepository;
 import com.FinanceManager.backend.repository.UserRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class AnalyticsService {
     private final ExpenseRepository expenseRepo;
     private final InsightRepository insightRepo;
     private final UserRepository userRepo;
+    private final InsightEngine insightEngine;
+    private final ObjectMapper objectMapper;
+    private final DataVersionService dataVersionService;
+    private final PlatformTransactionManager transactionManager;
 
-    public String getExpenseInsights(UUID userId) throws IOException {
-        List<Expense> expenses = expenseRepo.findByUserId(userId);
-        List<Map<String, Object>> data = expenses.stream().map(e -> {
-            Map<String, Object> map = new HashMap<>();
-            map.put("user_id", e.getUser().getId().toString());
-            map.put("amount", e.getAmount());
-            map.put("description", e.getDescription());
-            map.put("category", e.getCategory());
-            map.put("pay_method", e.getPayMethod());
-            map.put("expense_date", e.getExpenseDate().toString());
-            return map;
-        }).toList();
-
-        ProcessBuilder pb = new ProcessBuilder("/home/varun/DevJunk/FinanceManager/backend/ml/.venv/bin/python3", "/home/varun/DevJunk/FinanceManager/backend/ml/analyze_user.py");
-        Process process = pb.start();
-
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()))) {
-            new ObjectMapper().writeValue(writer, data);
-        }
-
-        String jsonOutput;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            jsonOutput = reader.lines().collect(Collectors.joining());
-        }
-        System.out.println(jsonOutput);
-        try (BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-            String errorOutput = errorReader.lines().collect(Collectors.joining("\n"));
-            if (!errorOutput.isEmpty()) {
-                System.err.println("Python script error:\n" + errorOutput);
+    // Returns the stored insight when it was computed from the user's current expenses, otherwise runs the engine.
+    public InsightResult getInsight(UUID userId, boolean force) throws IOException {
+        if (!force) {
+            Optional<InsightResult> current = findCurrentInsight(userId);
+            if (current.isPresent()) {
+                return current.get();
             }
         }
+        return generateInsight(userId);
+    }
 
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Object> insightData = mapper.readValue(jsonOutput, new TypeReference<>() {});
+    public Optional<InsightResult> findCurrentInsight(UUID userId) throws IOException {
+        Optional<Insight> latest = readOnly().execute(status -> insightRepo.findFirstByUserIdOrderByCreatedAtDesc(userId)
+                .filter(insight -> Objects.equals(insight.getDataVersion(), dataVersionService.current(userId, DataResource.EXPENSES))));
+        return latest.isEmpty() ? Optional.empty() : Optional.of(toResult(userId, latest.get()));
+    }
+
+    // Runs the engine and persists the result as an Insight, tagged with the expense version it was computed from.
+    public InsightResult generateInsight(UUID userId) throws IOException {
+        // Version and expenses are read in one transaction so they come from the same database (primary or replica).
+        Snapshot snapshot = readOnly().execute(status ->
+                new Snapshot(dataVersionService.current(userId, DataResource.EXPENSES), expenseRepo.findByUserId(userId)));
+        InsightResult result = insightEngine.analyze(userId, snapshot.expenses());
 
         Insight insight = new Insight();
-        insight.setUser(userRepo.findById(userId).orElseThrow());
-        insight.setLabel((String) insightData.get("label"));
-        insight.setTrend((String) insightData.get("trend"));
-        insight.setTopCategory((String) insightData.get("topCategory"));
-        insight.setSuggestions(mapper.writeValueAsString(insightData.get("suggestions")));
-        insight.setAnomalies(mapper.writeValueAsString(insightData.get("anomalies")));
+        insight.setUser(userRepo.getReferenceById(userId));
+        insight.setLabel(result.getLabel());
+        insight.setTrend(result.getTrend());
+        insight.setTopCategory(result.getTopCategory());
+        insight.setSuggestions(objectMapper.writeValueAsString(result.getSuggestions()));
+        insight.setAnomalies(objectMapper.writeValueAsString(result.getAnomalies()));
+        insight.setDataVersion(snapshot.version());
         insightRepo.save(insight);
 
-        return jsonOutput;
+        return result;
+    }
+
+    private InsightResult toResult(UUID userId, Insight insight) throws IOException {
+        return new InsightResult(
+                userId.toString(),
+                insight.getTopCategory(),
+                insight.getLabel(),
+                insight.getTrend(),
+                insight.getSuggestions() == null ? null : objectMapper.readValue(insight.getSuggestions(), new TypeReference<List<String>>() {}),
+                insight.getAnomalies() == null ? null : objectMapper.readValue(insight.getAnomalies(), new TypeReference<List<Map<String, Object>>>() {}));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
     }
 
-    @Scheduled(cron = "0 0 1 1 * *")
-    public void generateMonthlyInsights() {
-        userRepo.findAll().forEach(user -> {
-            try {
-                getExpenseInsights(user.getId());
-            } catch (Exception ignored) {}
-        });
+    private record Snapshot(long version, List<Expense> expenses) {
     }
 }
@@ -0,0 +1,117 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.UserChangedEvent;
+import com.FinanceManager.backend.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class AuthCache {
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+
+    @Value("${application.security.auth-cache.token-max-size}")
+    private long tokenMaxSize;
+
+    @Value("${application.security.auth-cache.user-max-size}")
+    private long userMaxSize;
+
+    @Value("${application.security.auth-cache.user-ttl}")
+    private long userTtl;
+
+    private Cache<String, VerifiedToken> tokens;
+    private Cache<String, UserDetails> users;
+
+    @PostConstruct
+    void init() {
+        tokens = Caffeine.newBuilder()
+                .maximumSize(tokenMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+        users = Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterWrite(Duration.ofMillis(userTtl))
+                .build();
+    }
+
+    // Returns the subject of a valid token, or null. Only successfully verified tokens are cached.
+    public String verifiedUsername(String token) {
+        VerifiedToken verified = verify(token);
+        return verified == null ? null : verified.username();
+    }
+
+    // Signature and expiry only; revocation is checked by the caller against TokenRevocationService.
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = tokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getId(), claims.getExpiration().getTime());
+            tokens.put(token, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public UserDetails userDetails(String username) {
+        return users.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    public void invalidateToken(String token) {
+        tokens.invalidate(token);
+    }
+
+    public void invalidateUser(String username) {
+        users.invalidate(username);
+        tokens.asMap().values().removeIf(token -> token.username().equals(username));
+    }
+
+    // After commit, so a concurrent request cannot reload the old row into the cache before the change is visible.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidateUser(event.getUsername());
+    }
+
+    public void invalidateAll() {
+        tokens.invalidateAll();
+        users.invalidateAll();
+    }
+
+    public record VerifiedToken(String username, String tokenId, long expiresAtMillis) {
+    }
+
+    // Each entry lives exactly as long as the token it caches stays valid.
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
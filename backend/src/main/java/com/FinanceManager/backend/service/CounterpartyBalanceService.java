@@ -0,0 +1,86 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.CounterpartyBalance;
+import com.FinanceManager.backend.entity.NetExposure;
+import com.FinanceManager.backend.repository.CounterpartyBalanceRepository;
+import com.FinanceManager.backend.repository.Upserts;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// Keeps counterparty_balances in step with debt and loan writes, so balance reads scan counterparties rather than records.
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class CounterpartyBalanceService {
+    private static final String UNNAMED = "";
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "net", "net",
+            "owed", "owed",
+            "lent", "lent",
+            "name", "counterparty");
+
+    private final CounterpartyBalanceRepository balanceRepo;
+    private final Upserts upserts;
+
+    // count is +1 when a debt is added and -1 when it is removed; amount carries the matching sign.
+    @Transactional
+    public void applyDebt(UUID userId, String lender, BigDecimal amount, long count) {
+        apply(userId, lender, amount, BigDecimal.ZERO, count, 0);
+    }
+
+    @Transactional
+    public void applyLoan(UUID userId, String borrower, BigDecimal amount, long count) {
+        apply(userId, borrower, BigDecimal.ZERO, amount, 0, count);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CounterpartyBalance> getBalances(UUID userId, String sort, String direction, int limit) {
+        String property = SORT_PROPERTIES.get(sort.toLowerCase(Locale.ROOT));
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort + " (expected one of net, owed, lent, name)");
+        }
+        Sort order = Sort.by(Sort.Direction.fromString(direction), property).and(Sort.by("counterparty"));
+        return balanceRepo.findByUserId(userId, PageRequest.of(0, limit, order));
+    }
+
+    @Transactional(readOnly = true)
+    public NetExposure getExposure(UUID userId) {
+        NetExposure exposure = balanceRepo.sumByUserId(userId);
+        if (exposure.getCounterparties() == 0) {
+            return new NetExposure(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        }
+        return exposure;
+    }
+
+    private void apply(UUID userId, String counterparty, BigDecimal owed, BigDecimal lent, long debtCount, long loanCount) {
+        String key = counterparty == null ? UNNAMED : counterparty.trim();
+        BigDecimal owedDelta = owed == null ? BigDecimal.ZERO : owed;
+        BigDecimal lentDelta = lent == null ? BigDecimal.ZERO : lent;
+        LocalDateTime now = LocalDateTime.now();
+
+        if (debtCount > 0 || loanCount > 0) {
+            upserts.increment("counterparty_balances",
+                    Map.of("user_id", userId, "counterparty", key),
+                    Map.of("owed", owedDelta, "lent", lentDelta, "net", lentDelta.subtract(owedDelta),
+                            "debt_count", debtCount, "loan_count", loanCount),
+                    Map.of("updated_at", now));
+            return;
+        }
+
+        // A removal only ever targets a row its record created, so there is nothing to insert.
+        if (balanceRepo.increment(userId, key, owedDelta, lentDelta, debtCount, loanCount, now) > 0) {
+            balanceRepo.deleteIfEmpty(userId, key);
+        }
+    }
+}
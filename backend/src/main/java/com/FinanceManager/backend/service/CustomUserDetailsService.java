@@ -1,22 +1,43 @@
 package com.FinanceManager.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.UserChangedEvent;
 import com.FinanceManager.backend.repository.UserRepository;
 
+import java.time.LocalDateTime;
+
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userDetailsRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userDetailsRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
     }
+
+    // Called after a successful login whose stored hash is below the configured BCrypt strength.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = userDetailsRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
+        stored.setPasswordHash(newPassword);
+        stored.setUpdatedAt(LocalDateTime.now());
+        User saved = userDetailsRepository.save(stored);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getUsername()));
+        return saved;
+    }
 }
@@ -0,0 +1,147 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.config.ReadWriteRoutingDataSource;
+import com.FinanceManager.backend.entity.DashboardCacheStats;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Caches the dashboard totals and breakdowns per user; entries are dropped after the expense write that affects them commits.
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+    private final ExpenseService expenseService;
+
+    @Value("${application.analytics.dashboard-cache.max-size}")
+    private long maxSize;
+
+    @Value("${application.analytics.dashboard-cache.ttl}")
+    private long ttl;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private Cache<Key, Optional<Object>> values;
+    private Cache<UUID, AtomicLong> generations;
+
+    @PostConstruct
+    void init() {
+        values = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        generations = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(ttl * 2))
+                .build();
+    }
+
+    @Timed("service.method")
+    public BigDecimal getCurrentWeekExpenses(UUID userId) {
+        return get(userId, Metric.WEEK_TOTAL, () -> expenseService.getCurrentWeekExpenses(userId));
+    }
+
+    @Timed("service.method")
+    public BigDecimal getCurrentMonthExpenses(UUID userId) {
+        return get(userId, Metric.MONTH_TOTAL, () -> expenseService.getCurrentMonthExpenses(userId));
+    }
+
+    @Timed("service.method")
+    public BigDecimal getCurrentYearExpenses(UUID userId) {
+        return get(userId, Metric.YEAR_TOTAL, () -> expenseService.getCurrentYearExpenses(userId));
+    }
+
+    @Timed("service.method")
+    public Map<String, BigDecimal> getMonthlyBreakdown(UUID userId) {
+        return get(userId, Metric.MONTHLY_BREAKDOWN, () -> expenseService.getMonthlyBreakdown(userId));
+    }
+
+    @Timed("service.method")
+    public Map<String, BigDecimal> getWeeklyBreakdown(UUID userId) {
+        return get(userId, Metric.WEEKLY_BREAKDOWN, () -> expenseService.getWeeklyBreakdown(userId));
+    }
+
+    public DashboardCacheStats stats() {
+        CacheStats stats = values.stats();
+        return new DashboardCacheStats(values.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), invalidations.get());
+    }
+
+    // Bumping the generation first stops loads that started before the commit from caching what they read.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        AtomicLong generation = generation(event.getUserId());
+        LocalDate today = LocalDate.now();
+        synchronized (generation) {
+            generation.incrementAndGet();
+            for (Metric metric : Metric.values()) {
+                if (event.getExpenseDates() == null || event.getExpenseDates().stream().anyMatch(date -> metric.covers(date, today))) {
+                    values.invalidate(new Key(event.getUserId(), metric, today));
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(UUID userId, Metric metric, Supplier<T> loader) {
+        Key key = new Key(userId, metric, LocalDate.now());
+        Optional<Object> cached = values.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached.orElse(null);
+        }
+        AtomicLong generation = generation(userId);
+        long seen = generation.get();
+        // Loads go to the primary: a lagging replica would cache pre-write totals for the whole TTL.
+        T value = ReadWriteRoutingDataSource.onPrimary(loader);
+        synchronized (generation) {
+            if (generation.get() == seen) {
+                values.put(key, Optional.ofNullable(value));
+            }
+        }
+        return value;
+    }
+
+    private AtomicLong generation(UUID userId) {
+        return generations.get(userId, id -> new AtomicLong());
+    }
+
+    private record Key(UUID userId, Metric metric, LocalDate asOf) {
+    }
+
+    private enum Metric {
+        WEEK_TOTAL, MONTH_TOTAL, YEAR_TOTAL, MONTHLY_BREAKDOWN, WEEKLY_BREAKDOWN;
+
+        boolean covers(LocalDate date, LocalDate today) {
+            if (date == null) {
+                return false;
+            }
+            return switch (this) {
+                case WEEK_TOTAL -> within(date, today.with(DayOfWeek.MONDAY), today);
+                case MONTH_TOTAL -> within(date, today.withDayOfMonth(1), today);
+                case YEAR_TOTAL -> within(date, today.withDayOfYear(1), today);
+                case MONTHLY_BREAKDOWN, WEEKLY_BREAKDOWN -> true;
+            };
+        }
+
+        private static boolean within(LocalDate date, LocalDate start, LocalDate end) {
+            return !date.isBefore(start) && !date.isAfter(end);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.FinanceManager.backend.repository.DataVersionRepository;
+import com.FinanceManager.backend.repository.Upserts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+    private final DataVersionRepository dataVersionRepo;
+    private final Upserts upserts;
+
+    public long current(UUID userId, DataResource resource) {
+        return dataVersionRepo.findVersion(userId, resource).orElse(0L);
+    }
+
+    // Weak validator over the user's versions of the given resources. Views relative to today also pass asOf,
+    // so they revalidate when the date rolls over; other callers pass null.
+    public String etag(UUID userId, LocalDate asOf, DataResource... resources) {
+        StringJoiner tag = new StringJoiner(".", "W/\"", "\"");
+        for (DataResource resource : resources) {
+            tag.add(Long.toString(current(userId, resource)));
+        }
+        if (asOf != null) {
+            tag.add(asOf.toString());
+        }
+        return tag.toString();
+    }
+
+    @Transactional
+    public void bump(UUID userId, DataResource resource) {
+        upserts.increment("data_versions",
+                Map.of("user_id", userId, "resource", resource.name()),
+                Map.of("version", 1L),
+                Map.of("updated_at", LocalDateTime.now()));
+    }
+
+    // Runs inside the writing transaction, so the version and the expense rows commit (or roll back) together.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        bump(event.getUserId(), DataResource.EXPENSES);
+    }
+}
@@ -1,51 +1,98 @@
 package com.FinanceManager.backend.service;
 
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Debt;
-import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.DebtResponse;
 import com.FinanceManager.backend.repository.DebtRepository;
 import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException; // Import this
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Import this
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.method")
 @AllArgsConstructor
 public class DebtService {
     private DebtRepository debtRepository;
     private UserRepository userRepository;
+    private CounterpartyBalanceService counterpartyBalanceService;
+    private DataVersionService dataVersionService;
 
+    @Transactional
     public Debt createDebt(UUID userId, Debt debt) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        debt.setUser(user);
-        return debtRepository.save(debt);
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with id: " + userId);
+        }
+        debt.setUser(userRepository.getReferenceById(userId));
+        Debt saved = debtRepository.save(debt);
+        counterpartyBalanceService.applyDebt(userId, saved.getLender(), saved.getAmount(), 1);
+        dataVersionService.bump(userId, DataResource.DEBTS);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DebtResponse> getUserDebts(UUID userId) {
+        return debtRepository.findResponsesByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<DebtResponse> getUserDebtsPage(UUID userId, String cursor, int limit) {
+        return CursorPage.datedThenUndated(PageCursor.decode(cursor), limit,
+                (after, window) -> after == null
+                        ? debtRepository.findPageByUserId(userId, window)
+                        : debtRepository.findPageByUserIdAfter(userId, after.getDate(), after.getId(), window),
+                (afterId, window) -> afterId == null
+                        ? debtRepository.findUndatedPageByUserId(userId, window)
+                        : debtRepository.findUndatedPageByUserIdAfter(userId, afterId, window),
+                debt -> new PageCursor(debt.getDebtDate(), debt.getId()));
     }
 
-    public List<Debt> getUserDebts(UUID userId) {
-        return debtRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public void streamUserDebts(UUID userId, Consumer<DebtResponse> sink) {
+        try (Stream<DebtResponse> debts = debtRepository.streamByUserId(userId)) {
+            debts.forEach(sink);
+        }
     }
 
     @Transactional
     public Debt updateDebt(UUID debtId, Debt debtDetails) {
         Debt existingDebt = debtRepository.findById(debtId)
                 .orElseThrow(() -> new EntityNotFoundException("Debt not found with id: " + debtId));
+        UUID userId = existingDebt.getUser().getId();
+        counterpartyBalanceService.applyDebt(userId, existingDebt.getLender(), negate(existingDebt.getAmount()), -1);
 
         existingDebt.setAmount(debtDetails.getAmount());
         existingDebt.setDescription(debtDetails.getDescription());
         existingDebt.setDebtDate(debtDetails.getDebtDate());
         existingDebt.setLender(debtDetails.getLender());
 
-        return debtRepository.save(existingDebt);
+        Debt saved = debtRepository.save(existingDebt);
+        counterpartyBalanceService.applyDebt(userId, saved.getLender(), saved.getAmount(), 1);
+        dataVersionService.bump(userId, DataResource.DEBTS);
+        return saved;
     }
 
+    @Transactional
     public void deleteDebt(UUID debtId) {
-        if (!debtRepository.existsById(debtId)) {
-            throw new EntityNotFoundException("Debt not found with id: " + debtId);
-        }
-        debtRepository.deleteById(debtId);
+        Debt debt = debtRepository.findById(debtId)
+                .orElseThrow(() -> new EntityNotFoundException("Debt not found with id: " + debtId));
+        UUID userId = debt.getUser().getId();
+        counterpartyBalanceService.applyDebt(userId, debt.getLender(), negate(debt.getAmount()), -1);
+        debtRepository.delete(debt);
+        dataVersionService.bump(userId, DataResource.DEBTS);
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? null : amount.negate();
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseStats;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.ExpenseStatsRepository;
+import com.FinanceManager.backend.repository.Upserts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Scores each expense against the user's running statistics as it is written, then folds it into them.
+// Mean and variance use Welford's update (reversible, so deletes and edits can take an amount back out);
+// median and median absolute deviation are stochastic estimates that move a bounded step towards each sample.
+// A user's first statistics row for a category is seeded from the expenses already stored, so expenses written
+// before the statistics existed are counted too and can be taken back out when they are edited or deleted.
+@Service
+@RequiredArgsConstructor
+public class ExpenseAnomalyService {
+    private static final String UNCATEGORIZED = "";
+    // Scales the median absolute deviation to a standard deviation for normally distributed amounts.
+    private static final double MAD_TO_SIGMA = 1.4826;
+
+    private final ExpenseStatsRepository statsRepo;
+    private final ExpenseRepository expenseRepo;
+    private final Upserts upserts;
+
+    @Value("${application.expenses.anomalies.threshold}")
+    private double threshold;
+
+    @Value("${application.expenses.anomalies.min-samples}")
+    private long minSamples;
+
+    // Sets anomalous/anomalyScore on each expense in order, each scored against the statistics before it.
+    @Transactional
+    public void score(UUID userId, List<Expense> expenses) {
+        // An edited expense is already stored, and may already be flushed with its new values, so a seed must not
+        // count it before it is added below.
+        Set<UUID> scoring = expenses.stream().map(Expense::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, ExpenseStats> stats = load(userId, expenses.stream().map(Expense::getCategory).toList(), scoring);
+        for (Expense expense : expenses) {
+            if (expense.getAmount() == null) {
+                expense.setAnomalous(false);
+                expense.setAnomalyScore(null);
+                continue;
+            }
+            double amount = expense.getAmount().doubleValue();
+            ExpenseStats category = stats.get(categoryKey(expense.getCategory()));
+            ExpenseStats all = stats.get(ExpenseStats.ALL_CATEGORIES);
+            Double score = score(category.getSampleCount() >= minSamples ? category : all, amount);
+            expense.setAnomalyScore(score);
+            expense.setAnomalous(score != null && score >= threshold);
+            add(category, amount);
+            add(all, amount);
+        }
+    }
+
+    @Transactional
+    public void remove(UUID userId, BigDecimal amount, String category) {
+        if (amount == null) {
+            return;
+        }
+        Map<String, ExpenseStats> stats = load(userId, List.of(categoryKey(category)), Set.of());
+        remove(stats.get(categoryKey(category)), amount.doubleValue());
+        remove(stats.get(ExpenseStats.ALL_CATEGORIES), amount.doubleValue());
+    }
+
+    private Map<String, ExpenseStats> load(UUID userId, List<String> categories, Set<UUID> excludedIds) {
+        Set<String> keys = new HashSet<>();
+        keys.add(ExpenseStats.ALL_CATEGORIES);
+        categories.forEach(category -> keys.add(categoryKey(category)));
+        Map<String, ExpenseStats> stats = new HashMap<>();
+        statsRepo.findForUpdate(userId, keys).forEach(row -> stats.put(row.getCategory(), row));
+        Set<String> missing = new HashSet<>(keys);
+        missing.removeAll(stats.keySet());
+        if (missing.isEmpty()) {
+            return stats;
+        }
+        // A row that does not exist yet cannot be locked, so concurrent first writes insert-if-absent and then lock.
+        Map<String, ExpenseStats> seeds = seeds(userId, excludedIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (String key : missing) {
+            ExpenseStats seed = seeds.getOrDefault(key, new ExpenseStats(userId, key));
+            upserts.insertIfAbsent("expense_stats",
+                    Map.of("user_id", userId, "category", key),
+                    Map.of("sample_count", seed.getSampleCount(), "mean", seed.getMean(), "m2", seed.getM2(),
+                            "median", seed.getMedian(), "median_abs_deviation", seed.getMedianAbsDeviation(),
+                            "updated_at", now));
+        }
+        statsRepo.findForUpdate(userId, missing).forEach(row -> stats.put(row.getCategory(), row));
+        return stats;
+    }
+
+    // Exact count, mean and m2 per category (and across all of them) from the stored expenses. The median and MAD
+    // estimates start at the mean and at the deviation that gives the same score as the classic z-score.
+    private Map<String, ExpenseStats> seeds(UUID userId, Set<UUID> excludedIds) {
+        Map<String, ExpenseStats> seeds = new HashMap<>();
+        long allCount = 0;
+        BigDecimal allSum = BigDecimal.ZERO;
+        BigDecimal allSumOfSquares = BigDecimal.ZERO;
+        List<Object[]> rows = excludedIds.isEmpty()
+                ? expenseRepo.summarizeAmountsByCategory(userId)
+                : expenseRepo.summarizeAmountsByCategoryExcluding(userId, excludedIds);
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            BigDecimal sum = (BigDecimal) row[2];
+            BigDecimal sumOfSquares = (BigDecimal) row[3];
+            seeds.put(categoryKey((String) row[0]), seed(userId, categoryKey((String) row[0]), count, sum, sumOfSquares));
+            allCount += count;
+            allSum = allSum.add(sum);
+            allSumOfSquares = allSumOfSquares.add(sumOfSquares);
+        }
+        seeds.put(ExpenseStats.ALL_CATEGORIES, seed(userId, ExpenseStats.ALL_CATEGORIES, allCount, allSum, allSumOfSquares));
+        return seeds;
+    }
+
+    private static ExpenseStats seed(UUID userId, String category, long count, BigDecimal sum, BigDecimal sumOfSquares) {
+        ExpenseStats stats = new ExpenseStats(userId, category);
+        if (count == 0) {
+            return stats;
+        }
+        BigDecimal n = BigDecimal.valueOf(count);
+        double mean = sum.divide(n, MathContext.DECIMAL64).doubleValue();
+        double m2 = Math.max(0, sumOfSquares.subtract(sum.multiply(sum).divide(n, MathContext.DECIMAL64)).doubleValue());
+        stats.setSampleCount(count);
+        stats.setMean(mean);
+        stats.setM2(m2);
+        stats.setMedian(mean);
+        stats.setMedianAbsDeviation(Math.sqrt(m2 / count) / MAD_TO_SIGMA);
+        return stats;
+    }
+
+    // Modified z-score on the median and MAD, falling back to the classic z-score while the MAD is still zero.
+    // Null until the statistics have seen min-samples expenses.
+    private Double score(ExpenseStats stats, double amount) {
+        if (stats.getSampleCount() < minSamples) {
+            return null;
+        }
+        if (stats.getMedianAbsDeviation() > 0) {
+            return Math.abs(amount - stats.getMedian()) / (MAD_TO_SIGMA * stats.getMedianAbsDeviation());
+        }
+        double stddev = Math.sqrt(stats.getM2() / stats.getSampleCount());
+        return stddev > 0 ? Math.abs(amount - stats.getMean()) / stddev : 0.0;
+    }
+
+    private static void add(ExpenseStats stats, double amount) {
+        long n = stats.getSampleCount();
+        if (n == 0) {
+            stats.setMedian(amount);
+        } else {
+            double scale = Math.max(Math.max(Math.sqrt(stats.getM2() / n), MAD_TO_SIGMA * stats.getMedianAbsDeviation()), 1e-6);
+            double step = scale / Math.sqrt(n + 1);
+            stats.setMedian(stats.getMedian() + step * Math.signum(amount - stats.getMedian()));
+            double deviation = Math.abs(amount - stats.getMedian());
+            stats.setMedianAbsDeviation(Math.max(0, stats.getMedianAbsDeviation() + step * Math.signum(deviation - stats.getMedianAbsDeviation())));
+        }
+        double delta = amount - stats.getMean();
+        stats.setSampleCount(n + 1);
+        stats.setMean(stats.getMean() + delta / (n + 1));
+        stats.setM2(stats.getM2() + delta * (amount - stats.getMean()));
+        stats.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // The quantile estimates cannot be unwound exactly, so only the count, mean and variance are reverted.
+    private static void remove(ExpenseStats stats, double amount) {
+        long n = stats.getSampleCount();
+        if (n <= 1) {
+            stats.setSampleCount(0);
+            stats.setMean(0);
+            stats.setM2(0);
+            stats.setMedian(0);
+            stats.setMedianAbsDeviation(0);
+        } else {
+            double mean = (n * stats.getMean() - amount) / (n - 1);
+            stats.setM2(Math.max(0, stats.getM2() - (amount - stats.getMean()) * (amount - mean)));
+            stats.setMean(mean);
+            stats.setSampleCount(n - 1);
+        }
+        stats.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? UNCATEGORIZED : category;
+    }
+}
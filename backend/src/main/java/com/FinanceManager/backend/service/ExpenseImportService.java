@@ -0,0 +1,385 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.FinanceManager.backend.entity.ExpenseImportResult;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.error.ExpenseImportAbortedException;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.util.Csv;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class ExpenseImportService {
+    // Matches the expenses columns: numeric(38, 2) and varchar(255).
+    private static final int MAX_AMOUNT_DIGITS = 36;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final String COPY_SQL = "COPY expenses (id, user_id, amount, description, category, pay_method, " +
+            "expense_date, anomalous, anomaly_score, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final UserRepository userRepository;
+    private final ExpenseRollupService expenseRollupService;
+    private final ExpenseAnomalyService expenseAnomalyService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.expenses.import.batch-size}")
+    private int batchSize;
+
+    @Value("${application.expenses.import.max-errors}")
+    private int maxErrors;
+
+    @Value("${application.expenses.import.copy-enabled}")
+    private boolean copyEnabled;
+
+    private boolean useCopy;
+
+    @PostConstruct
+    void detectCopySupport() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            useCopy = copyEnabled && connection.isWrapperFor(PGConnection.class);
+        }
+        log.info("Expense imports will use {}", useCopy ? "PostgreSQL COPY" : "JDBC batch inserts");
+    }
+
+    // Expects a header row; column names are matched case-insensitively, ignoring underscores and spaces.
+    // Errors are reported against the line a record starts on.
+    public ExpenseImportResult importCsv(UUID userId, InputStream body) throws IOException {
+        Importer importer = new Importer(userId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = Csv.readRecord(reader);
+        if (header == null) {
+            return importer.finish();
+        }
+        Map<String, Integer> columns = columns(Csv.parseLine(header));
+
+        String record;
+        long nextLine = 2;
+        while ((record = Csv.readRecord(reader)) != null) {
+            long lineNumber = nextLine;
+            nextLine += 1 + record.chars().filter(c -> c == '\n').count();
+            if (record.isBlank()) {
+                continue;
+            }
+            try {
+                List<String> fields = Csv.parseLine(record);
+                importer.add(lineNumber, toExpense(
+                        field(fields, columns, "amount"),
+                        field(fields, columns, "description"),
+                        field(fields, columns, "category"),
+                        field(fields, columns, "paymethod"),
+                        field(fields, columns, "expensedate")));
+            } catch (IllegalArgumentException e) {
+                importer.reject(lineNumber, e.getMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    public ExpenseImportResult importJson(UUID userId, InputStream body) throws IOException {
+        Importer importer = new Importer(userId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (firstToken(parser) != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of expenses");
+            }
+            // Anything other than an object, or JSON that stops parsing, ends the import rather than silently
+            // dropping the rest of the array.
+            long row = 0;
+            try {
+                while (true) {
+                    row++;
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    if (token != JsonToken.START_OBJECT) {
+                        throw importer.abort(row, token == null ? "unexpected end of input" : "expected an expense object, found " + token);
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        importer.add(row, toExpense(
+                                text(node, "amount"),
+                                text(node, "description"),
+                                text(node, "category"),
+                                text(node, "payMethod"),
+                                text(node, "expenseDate")));
+                    } catch (IllegalArgumentException e) {
+                        importer.reject(row, e.getMessage());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                throw importer.abort(row, "malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    private static JsonToken firstToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", ""), i);
+        }
+        // The CSV export heads the column "Date", so an export can be imported as it is.
+        if (!columns.containsKey("expensedate") && columns.containsKey("date")) {
+            columns.put("expensedate", columns.get("date"));
+        }
+        if (!columns.containsKey("amount") || !columns.containsKey("expensedate")) {
+            throw new IllegalArgumentException("CSV header must contain amount and expenseDate (or Date) columns");
+        }
+        return columns;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private Expense toExpense(String amount, String description, String category, String payMethod, String expenseDate) {
+        if (amount == null) {
+            throw new IllegalArgumentException("amount is required");
+        }
+        if (expenseDate == null) {
+            throw new IllegalArgumentException("expenseDate is required");
+        }
+        Expense expense = new Expense();
+        try {
+            expense.setAmount(new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number: " + amount);
+        }
+        if (expense.getAmount().precision() - expense.getAmount().scale() > MAX_AMOUNT_DIGITS) {
+            throw new IllegalArgumentException("amount is too large: " + amount);
+        }
+        try {
+            expense.setExpenseDate(LocalDate.parse(expenseDate));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("expenseDate is not an ISO date: " + expenseDate);
+        }
+        expense.setDescription(checkLength("description", description));
+        expense.setCategory(checkLength("category", category));
+        expense.setPayMethod(checkLength("payMethod", payMethod));
+        return expense;
+    }
+
+    private static String checkLength(String name, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private void write(UUID userId, List<Expense> batch) {
+        if (useCopy) {
+            copy(userId, batch);
+            return;
+        }
+        User user = entityManager.getReference(User.class, userId);
+        for (Expense expense : batch) {
+            expense.setUser(user);
+            entityManager.persist(expense);
+        }
+    }
+
+    private void copy(UUID userId, List<Expense> batch) {
+        StringBuilder csv = new StringBuilder(batch.size() * 128);
+        String now = LocalDateTime.now().toString();
+        for (Expense expense : batch) {
+            expense.setId(UUID.randomUUID());
+            csv.append(expense.getId()).append(',')
+                    .append(userId).append(',')
+                    .append(expense.getAmount().toPlainString()).append(',')
+                    .append(Csv.escape(expense.getDescription())).append(',')
+                    .append(Csv.escape(expense.getCategory())).append(',')
+                    .append(Csv.escape(expense.getPayMethod())).append(',')
+                    .append(expense.getExpenseDate()).append(',')
+                    .append(expense.isAnomalous()).append(',')
+                    .append(expense.getAnomalyScore() == null ? "" : expense.getAnomalyScore()).append(',')
+                    .append(now).append(',')
+                    .append(now).append('\n');
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("COPY into expenses failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void updateRollups(UUID userId, List<Expense> batch) {
+        Map<RollupKey, BigDecimal> totals = new HashMap<>();
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (Expense expense : batch) {
+            RollupKey key = new RollupKey(expense.getExpenseDate(), expense.getCategory());
+            totals.merge(key, expense.getAmount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        totals.forEach((key, total) ->
+                expenseRollupService.apply(userId, key.expenseDate(), key.category(), total, counts.get(key)));
+    }
+
+    private record RollupKey(LocalDate expenseDate, String category) {
+    }
+
+    // Accumulates parsed rows and writes them one batch per transaction, so memory stays bounded by the batch size.
+    private final class Importer {
+        private final UUID userId;
+        private final long startedAt = System.nanoTime();
+        private final List<Expense> pending = new ArrayList<>();
+        private final List<Long> pendingRows = new ArrayList<>();
+        private final List<ExpenseImportResult.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        Importer(UUID userId) {
+            if (!userRepository.existsById(userId)) {
+                throw new EntityNotFoundException("User not found with id: " + userId);
+            }
+            this.userId = userId;
+        }
+
+        void add(long row, Expense expense) {
+            received++;
+            pending.add(expense);
+            pendingRows.add(row);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            received++;
+            fail(row, message);
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ExpenseImportResult.RowError(row, message));
+            }
+        }
+
+        ExpenseImportResult finish() {
+            return result(null);
+        }
+
+        // Writes the rows parsed before the bad one, so everything up to abortedAtRow is settled either way.
+        ExpenseImportAbortedException abort(long row, String message) {
+            received++;
+            fail(row, message);
+            ExpenseImportResult result = result(row);
+            return new ExpenseImportAbortedException("Import stopped at row " + row + " after " + result.getImported()
+                    + " rows were imported: " + message, result);
+        }
+
+        private ExpenseImportResult result(Long abortedAtRow) {
+            flush();
+            long elapsedNanos = System.nanoTime() - startedAt;
+            double rowsPerSecond = elapsedNanos == 0 ? 0 : imported * 1_000_000_000.0 / elapsedNanos;
+            return new ExpenseImportResult(received, imported, failed, elapsedNanos / 1_000_000,
+                    Math.round(rowsPerSecond * 10) / 10.0, errors, failed > errors.size(), abortedAtRow);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                store(pending);
+                imported += pending.size();
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                // toExpense catches the usual bad values; anything else the database refuses is narrowed down row by
+                // row, so one bad row does not cost the rest of its batch.
+                log.warn("Expense import batch for user {} failed, retrying row by row: {}", userId, e.getMessage());
+                for (int i = 0; i < pending.size(); i++) {
+                    Expense expense = pending.get(i);
+                    expense.setId(null);
+                    try {
+                        store(List.of(expense));
+                        imported++;
+                    } catch (DataAccessException | PersistenceException | TransactionException rowFailure) {
+                        fail(pendingRows.get(i), "rejected: " + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                }
+            }
+            pending.clear();
+            pendingRows.clear();
+        }
+
+        private void store(List<Expense> batch) {
+            transactionTemplate.executeWithoutResult(status -> {
+                expenseAnomalyService.score(userId, batch);
+                write(userId, batch);
+                updateRollups(userId, batch);
+                eventPublisher.publishEvent(ExpenseChangedEvent.bulk(userId));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
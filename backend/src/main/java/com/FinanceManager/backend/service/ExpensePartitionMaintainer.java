@@ -0,0 +1,45 @@
+package com.FinanceManager.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+// Uses the PL/pgSQL functions from the V3 migration, so this is PostgreSQL only.
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "application.expenses.partitioning", name = "enabled", havingValue = "true")
+public class ExpensePartitionMaintainer {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.expenses.partitioning.months-ahead}")
+    private int monthsAhead;
+
+    public ExpensePartitionMaintainer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void partitionOnStartup() {
+        long start = System.currentTimeMillis();
+        Boolean converted = jdbcTemplate.queryForObject("SELECT partition_expenses_by_month()", Boolean.class);
+        if (Boolean.TRUE.equals(converted)) {
+            log.info("Converted expenses to monthly partitions in {} ms", System.currentTimeMillis() - start);
+        }
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${application.expenses.partitioning.cron}")
+    public void createUpcomingPartitions() {
+        Integer created = jdbcTemplate.queryForObject("SELECT create_expense_partitions(?)", Integer.class, monthsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} expense partitions", created);
+        }
+    }
+}
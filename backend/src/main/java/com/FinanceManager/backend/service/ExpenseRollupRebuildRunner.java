@@ -0,0 +1,24 @@
+package com.FinanceManager.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpenseRollupRebuildRunner implements ApplicationRunner {
+    private final ExpenseRollupService expenseRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("rebuild-rollups")) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long users = expenseRollupService.rebuildAll();
+        log.info("Expense rollups rebuilt for {} users in {} ms", users, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,184 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseCategoryMonthlyRollup;
+import com.FinanceManager.backend.entity.ExpenseDailyRollup;
+import com.FinanceManager.backend.entity.ExpenseWeeklyRollup;
+import com.FinanceManager.backend.repository.ExpenseCategoryMonthlyRollupRepository;
+import com.FinanceManager.backend.repository.ExpenseDailyRollupRepository;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.ExpenseWeeklyRollupRepository;
+import com.FinanceManager.backend.repository.Upserts;
+import com.FinanceManager.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseRollupService {
+    private static final UUID FIRST_USER = new UUID(0L, 0L);
+    private static final String UNCATEGORIZED = "";
+
+    private final ExpenseDailyRollupRepository dailyRepo;
+    private final ExpenseWeeklyRollupRepository weeklyRepo;
+    private final ExpenseCategoryMonthlyRollupRepository monthlyRepo;
+    private final ExpenseRepository expenseRepo;
+    private final UserRepository userRepo;
+    private final Upserts upserts;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${application.expenses.rollups.rebuild-page-size}")
+    private int rebuildPageSize;
+
+    @Value("${application.expenses.rollups.rebuild-parallelism}")
+    private int rebuildParallelism;
+
+    @Transactional
+    public void add(UUID userId, Expense expense) {
+        apply(userId, expense.getExpenseDate(), expense.getCategory(), expense.getAmount(), 1);
+    }
+
+    @Transactional
+    public void remove(UUID userId, Expense expense) {
+        BigDecimal amount = expense.getAmount() == null ? null : expense.getAmount().negate();
+        apply(userId, expense.getExpenseDate(), expense.getCategory(), amount, -1);
+    }
+
+    @Transactional
+    public void apply(UUID userId, LocalDate expenseDate, String category, BigDecimal amount, long count) {
+        if (expenseDate == null) {
+            return;
+        }
+        BigDecimal delta = amount == null ? BigDecimal.ZERO : amount;
+        String categoryKey = category == null ? UNCATEGORIZED : category;
+        LocalDate weekStart = expenseDate.with(DayOfWeek.MONDAY);
+        LocalDate periodMonth = expenseDate.withDayOfMonth(1);
+
+        if (count > 0) {
+            upserts.increment("expense_daily_rollups",
+                    Map.of("user_id", userId, "expense_date", expenseDate),
+                    Map.of("total", delta, "expense_count", count),
+                    Map.of());
+            upserts.increment("expense_weekly_rollups",
+                    Map.of("user_id", userId, "week_start", weekStart),
+                    Map.of("total", delta, "expense_count", count),
+                    Map.of());
+            upserts.increment("expense_category_monthly_rollups",
+                    Map.of("user_id", userId, "category", categoryKey, "period_month", periodMonth),
+                    Map.of("total", delta, "expense_count", count),
+                    Map.of());
+            return;
+        }
+
+        // A removal only ever targets a row its expense created, so there is nothing to insert.
+        if (dailyRepo.increment(userId, expenseDate, delta, count) > 0) {
+            dailyRepo.deleteIfEmpty(userId, expenseDate);
+        }
+        if (weeklyRepo.increment(userId, weekStart, delta, count) > 0) {
+            weeklyRepo.deleteIfEmpty(userId, weekStart);
+        }
+        if (monthlyRepo.increment(userId, categoryKey, periodMonth, delta, count) > 0) {
+            monthlyRepo.deleteIfEmpty(userId, categoryKey, periodMonth);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExpenseDailyRollup> getDailyRollups(UUID userId) {
+        return dailyRepo.findByUserIdOrderByExpenseDate(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExpenseWeeklyRollup> getWeeklyRollups(UUID userId) {
+        return weeklyRepo.findByUserIdOrderByWeekStart(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Object[]> getMonthlyTotals(UUID userId) {
+        return monthlyRepo.sumByUserGroupByMonth(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal sumBetween(UUID userId, LocalDate start, LocalDate end) {
+        return dailyRepo.sumByUserAndExpenseDateBetween(userId, start, end);
+    }
+
+    @Transactional
+    public void rebuild(UUID userId) {
+        dailyRepo.deleteByUser(userId);
+        weeklyRepo.deleteByUser(userId);
+        monthlyRepo.deleteByUser(userId);
+
+        // Weeks are folded from the day totals, since week-start truncation is not portable across databases.
+        Map<LocalDate, ExpenseWeeklyRollup> weeks = new HashMap<>();
+        for (Object[] row : expenseRepo.sumByUserGroupByDay(userId)) {
+            LocalDate day = (LocalDate) row[0];
+            BigDecimal total = (BigDecimal) row[1];
+            long count = ((Number) row[2]).longValue();
+            entityManager.persist(new ExpenseDailyRollup(userId, day, total, count));
+            ExpenseWeeklyRollup week = weeks.computeIfAbsent(day.with(DayOfWeek.MONDAY),
+                    weekStart -> new ExpenseWeeklyRollup(userId, weekStart, BigDecimal.ZERO, 0));
+            week.setTotal(week.getTotal().add(total == null ? BigDecimal.ZERO : total));
+            week.setExpenseCount(week.getExpenseCount() + count);
+        }
+        weeks.values().forEach(entityManager::persist);
+
+        for (Object[] row : expenseRepo.sumByUserGroupByCategoryAndMonth(userId)) {
+            String category = row[0] == null ? UNCATEGORIZED : (String) row[0];
+            LocalDate periodMonth = LocalDate.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(), 1);
+            entityManager.persist(new ExpenseCategoryMonthlyRollup(userId, category, periodMonth, (BigDecimal) row[3], ((Number) row[4]).longValue()));
+        }
+    }
+
+    public long rebuildAll() throws InterruptedException {
+        Semaphore permits = new Semaphore(rebuildParallelism);
+        UUID cursor = FIRST_USER;
+        long users = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<UUID> page;
+            while (!(page = userRepo.findIdsAfter(cursor, PageRequest.of(0, rebuildPageSize))).isEmpty()) {
+                List<Future<?>> results = new ArrayList<>(page.size());
+                for (UUID userId : page) {
+                    permits.acquire();
+                    results.add(executor.submit(() -> {
+                        try {
+                            transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+                users += page.size();
+                cursor = page.get(page.size() - 1);
+                log.info("Rebuilt expense rollups for {} users", users);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Expense rollup rebuild failed", e.getCause());
+        }
+        return users;
+    }
+}
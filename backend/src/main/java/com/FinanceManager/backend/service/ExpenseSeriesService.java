@@ -0,0 +1,86 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.ExpenseBucket;
+import com.FinanceManager.backend.entity.ExpenseSeries;
+import com.FinanceManager.backend.entity.SeriesDimension;
+import com.FinanceManager.backend.entity.SeriesGranularity;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class ExpenseSeriesService {
+    private static final Comparator<List<String>> GROUP_ORDER = (a, b) -> {
+        for (int i = 0; i < a.size(); i++) {
+            int cmp = Comparator.nullsFirst(Comparator.<String>naturalOrder()).compare(a.get(i), b.get(i));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    };
+
+    private final ExpenseRepository expenseRepository;
+
+    @Value("${application.analytics.series.max-buckets}")
+    private int maxBuckets;
+
+    @Transactional(readOnly = true)
+    public ExpenseSeries getSeries(UUID userId, LocalDate from, LocalDate to,
+                                   SeriesGranularity granularity, List<SeriesDimension> groupBy) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(to); start = granularity.next(start)) {
+            if (periods.size() == maxBuckets) {
+                throw new IllegalArgumentException("Range spans more than " + maxBuckets + " " + granularity + " buckets");
+            }
+            periods.add(start);
+        }
+
+        Map<List<String>, Map<LocalDate, BigDecimal>> amounts = new TreeMap<>(GROUP_ORDER);
+        if (groupBy.isEmpty()) {
+            amounts.put(List.of(), new HashMap<>());
+        }
+        for (ExpenseBucket bucket : expenseRepository.sumByBucket(userId, from, to, granularity, groupBy)) {
+            amounts.computeIfAbsent(bucket.getGroup(), group -> new HashMap<>())
+                    .merge(granularity.bucketStart(bucket.getPeriodStart()), bucket.getAmount(), BigDecimal::add);
+        }
+
+        List<ExpenseSeries.Series> series = new ArrayList<>(amounts.size());
+        amounts.forEach((group, byPeriod) -> {
+            Map<String, String> labels = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                labels.put(groupBy.get(i).getField(), group.get(i));
+            }
+            BigDecimal total = BigDecimal.ZERO;
+            List<ExpenseSeries.Point> points = new ArrayList<>(periods.size());
+            for (LocalDate period : periods) {
+                BigDecimal amount = byPeriod.getOrDefault(period, BigDecimal.ZERO);
+                total = total.add(amount);
+                points.add(new ExpenseSeries.Point(granularity.key(period), period, amount));
+            }
+            series.add(new ExpenseSeries.Series(labels, total, points));
+        });
+
+        List<String> dimensions = groupBy.stream().map(SeriesDimension::getField).toList();
+        return new ExpenseSeries(granularity, from, to, dimensions, series);
+    }
+}
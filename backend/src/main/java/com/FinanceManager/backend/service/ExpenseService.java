@@ -1,11 +1,18 @@
 package com.FinanceManager.backend.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import com.FinanceManager.backend.entity.CursorPage;
 import com.FinanceManager.backend.entity.Expense;
-import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.FinanceManager.backend.entity.ExpenseWeeklyRollup;
+import com.FinanceManager.backend.entity.ExpenseResponse;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.FinanceManager.backend.repository.ExpenseRepository;
 import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.util.PageCursor;
 import jakarta.persistence.EntityNotFoundException; // Import this
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,94 +24,148 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.method")
 @AllArgsConstructor
 public class ExpenseService {
     private ExpenseRepository expenseRepository;
     private UserRepository userRepository;
+    private ExpenseRollupService expenseRollupService;
+    private ApplicationEventPublisher eventPublisher;
+    private ExpenseAnomalyService expenseAnomalyService;
 
+    @Transactional
     public Expense createExpense(UUID userId, Expense expense) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        expense.setUser(user);
-        return expenseRepository.save(expense);
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with id: " + userId);
+        }
+        expense.setUser(userRepository.getReferenceById(userId));
+        expenseAnomalyService.score(userId, List.of(expense));
+        Expense saved = expenseRepository.save(expense);
+        expenseRollupService.add(userId, saved);
+        eventPublisher.publishEvent(ExpenseChangedEvent.of(userId, saved.getExpenseDate()));
+        return saved;
     }
 
+    @Transactional
     public Expense updateExpense(UUID expenseId, Expense expenseDetails) {
         Expense existingExpense = expenseRepository.findById(expenseId)
                 .orElseThrow(() -> new EntityNotFoundException("Expense not found with id: " + expenseId));
+        UUID userId = existingExpense.getUser().getId();
+        LocalDate previousDate = existingExpense.getExpenseDate();
+        expenseRollupService.remove(userId, existingExpense);
+        expenseAnomalyService.remove(userId, existingExpense.getAmount(), existingExpense.getCategory());
 
         existingExpense.setAmount(expenseDetails.getAmount());
         existingExpense.setDescription(expenseDetails.getDescription());
         existingExpense.setExpenseDate(expenseDetails.getExpenseDate());
         existingExpense.setCategory(expenseDetails.getCategory());
         existingExpense.setPayMethod(expenseDetails.getPayMethod());
+        expenseAnomalyService.score(userId, List.of(existingExpense));
 
-        return expenseRepository.save(existingExpense);
+        Expense saved = expenseRepository.save(existingExpense);
+        expenseRollupService.add(userId, saved);
+        eventPublisher.publishEvent(ExpenseChangedEvent.of(userId, previousDate, saved.getExpenseDate()));
+        return saved;
     }
 
-    public List<Expense> getUserExpenses(UUID userId) {
-        return expenseRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<ExpenseResponse> getUserExpenses(UUID userId) {
+        return expenseRepository.findResponsesByUserId(userId);
     }
 
-    public void deleteExpense(UUID expenseId) {
-        if (!expenseRepository.existsById(expenseId)) {
-            throw new EntityNotFoundException("Expense not found with id: " + expenseId);
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getUserExpensesPage(UUID userId, String cursor, int limit) {
+        return CursorPage.datedThenUndated(PageCursor.decode(cursor), limit,
+                (after, window) -> after == null
+                        ? expenseRepository.findPageByUserId(userId, window)
+                        : expenseRepository.findPageByUserIdAfter(userId, after.getDate(), after.getId(), window),
+                (afterId, window) -> afterId == null
+                        ? expenseRepository.findUndatedPageByUserId(userId, window)
+                        : expenseRepository.findUndatedPageByUserIdAfter(userId, afterId, window),
+                expense -> new PageCursor(expense.getExpenseDate(), expense.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUserExpenses(UUID userId, Consumer<ExpenseResponse> sink) {
+        try (Stream<ExpenseResponse> expenses = expenseRepository.streamByUserId(userId)) {
+            expenses.forEach(sink);
         }
-        expenseRepository.deleteById(expenseId);
     }
 
+    @Transactional(readOnly = true)
+    public List<ExpenseResponse> getAnomalousExpenses(UUID userId, int limit) {
+        return expenseRepository.findAnomalousByUserId(userId, PageRequest.ofSize(limit));
+    }
+
+    @Transactional
+    public void deleteExpense(UUID expenseId) {
+        Expense expense = expenseRepository.findById(expenseId)
+                .orElseThrow(() -> new EntityNotFoundException("Expense not found with id: " + expenseId));
+        UUID userId = expense.getUser().getId();
+        expenseRollupService.remove(userId, expense);
+        expenseAnomalyService.remove(userId, expense.getAmount(), expense.getCategory());
+        expenseRepository.delete(expense);
+        eventPublisher.publishEvent(ExpenseChangedEvent.of(userId, expense.getExpenseDate()));
+    }
+
+    @Transactional(readOnly = true)
     public BigDecimal getCurrentMonthExpenses(UUID userId) {
         LocalDate now = LocalDate.now();
-        return expenseRepository.sumByUserAndExpenseDateBetween(
+        return expenseRollupService.sumBetween(
                 userId,
                 now.withDayOfMonth(1),
                 now
         );
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getCurrentWeekExpenses(UUID userId) {
         LocalDate now = LocalDate.now();
         LocalDate weekStart = now.with(DayOfWeek.MONDAY);
-        return expenseRepository.sumByUserAndExpenseDateBetween(userId, weekStart, now);
+        return expenseRollupService.sumBetween(userId, weekStart, now);
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getCurrentYearExpenses(UUID userId) {
         LocalDate now = LocalDate.now();
-        return expenseRepository.sumByUserAndExpenseDateBetween(
+        return expenseRollupService.sumBetween(
                 userId,
                 now.withDayOfYear(1),
                 now
         );
     }
 
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getMonthlyBreakdown(UUID userId) {
-        List<Expense> expenses = expenseRepository.findByUserId(userId);
-        return expenses.stream()
+        List<Object[]> monthlyTotals = expenseRollupService.getMonthlyTotals(userId);
+        return monthlyTotals.stream()
                 .collect(Collectors.groupingBy(
-                        e -> e.getExpenseDate().getMonth().toString().substring(0, 3),
-                        Collectors.mapping(Expense::getAmount, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
+                        row -> ((LocalDate) row[0]).getMonth().toString().substring(0, 3),
+                        Collectors.mapping(row -> (BigDecimal) row[1], Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
                 ));
     }
 
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getWeeklyBreakdown(UUID userId) {
-        List<Expense> expenses = expenseRepository.findByUserId(userId);
+        List<ExpenseWeeklyRollup> weeks = expenseRollupService.getWeeklyRollups(userId);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d");
 
-        return expenses.stream()
+        return weeks.stream()
                 .collect(Collectors.groupingBy(
-                        e -> {
-                            LocalDate date = e.getExpenseDate();
-                            LocalDate weekStart = date.with(DayOfWeek.MONDAY);
+                        week -> {
+                            LocalDate weekStart = week.getWeekStart();
                             LocalDate weekEnd = weekStart.plusDays(6);
 
                             return formatter.format(weekStart) + " – " + formatter.format(weekEnd);
                         },
                         TreeMap::new,
-                        Collectors.mapping(Expense::getAmount, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
+                        Collectors.mapping(ExpenseWeeklyRollup::getTotal, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
                 ));
     }
 
@@ -0,0 +1,177 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Debt;
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExportFormat;
+import com.FinanceManager.backend.entity.Loan;
+import com.FinanceManager.backend.repository.DebtRepository;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.LoanRepository;
+import com.FinanceManager.backend.util.Csv;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.DeferredSXSSFSheet;
+import org.apache.poi.xssf.streaming.DeferredSXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class ExportService {
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+    private static final int CSV_FLUSH_ROWS = 1000;
+    private static final int XLSX_WINDOW_ROWS = 100;
+
+    private static final List<Column<Expense>> EXPENSE_COLUMNS = List.of(
+            new Column<>("Date", Expense::getExpenseDate),
+            new Column<>("Amount", Expense::getAmount),
+            new Column<>("Description", Expense::getDescription),
+            new Column<>("Category", Expense::getCategory),
+            new Column<>("Pay Method", Expense::getPayMethod)
+    );
+
+    private static final List<Column<Debt>> DEBT_COLUMNS = List.of(
+            new Column<>("Date", Debt::getDebtDate),
+            new Column<>("Amount", Debt::getAmount),
+            new Column<>("Description", Debt::getDescription),
+            new Column<>("Lender", Debt::getLender)
+    );
+
+    private static final List<Column<Loan>> LOAN_COLUMNS = List.of(
+            new Column<>("Date", Loan::getLoanDate),
+            new Column<>("Amount", Loan::getAmount),
+            new Column<>("Description", Loan::getDescription),
+            new Column<>("Borrower", Loan::getBorrower)
+    );
+
+    private final ExpenseRepository expenseRepository;
+    private final DebtRepository debtRepository;
+    private final LoanRepository loanRepository;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportExpenses(UUID userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Expense> rows = from == null && to == null
+                ? expenseRepository.streamAllByUserId(userId)
+                : expenseRepository.streamByUserIdAndExpenseDateBetween(userId, start(from), end(to))) {
+            write(format, "Expenses", EXPENSE_COLUMNS, rows.iterator(), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportDebts(UUID userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Debt> rows = from == null && to == null
+                ? debtRepository.streamAllByUserId(userId)
+                : debtRepository.streamByUserIdAndDebtDateBetween(userId, start(from), end(to))) {
+            write(format, "Debts", DEBT_COLUMNS, rows.iterator(), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLoans(UUID userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Loan> rows = from == null && to == null
+                ? loanRepository.streamAllByUserId(userId)
+                : loanRepository.streamByUserIdAndLoanDateBetween(userId, start(from), end(to))) {
+            write(format, "Loans", LOAN_COLUMNS, rows.iterator(), out);
+        }
+    }
+
+    private <T> void write(ExportFormat format, String sheetName, List<Column<T>> columns, Iterator<T> rows, OutputStream out) throws IOException {
+        switch (format) {
+            case CSV -> writeCsv(columns, rows, out);
+            case XLSX -> writeXlsx(sheetName, columns, rows, out);
+        }
+    }
+
+    private <T> void writeCsv(List<Column<T>> columns, Iterator<T> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", columns.stream().map(Column::header).toList()));
+        writer.write("\r\n");
+        writer.flush();
+
+        int written = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                writer.write(value == null ? "" : Csv.escape(value instanceof BigDecimal amount ? amount.toPlainString() : value.toString()));
+            }
+            writer.write("\r\n");
+            entityManager.detach(row);
+            if (++written % CSV_FLUSH_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    // Rows are generated while the workbook is zipped onto the response, so nothing but the row window is held in memory.
+    private <T> void writeXlsx(String sheetName, List<Column<T>> columns, Iterator<T> rows, OutputStream out) throws IOException {
+        try (DeferredSXSSFWorkbook workbook = new DeferredSXSSFWorkbook(XLSX_WINDOW_ROWS)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            DeferredSXSSFSheet sheet = workbook.createSheet(sheetName);
+            sheet.setRowGenerator(target -> {
+                Row header = target.createRow(0);
+                for (int i = 0; i < columns.size(); i++) {
+                    header.createCell(i).setCellValue(columns.get(i).header());
+                }
+                int index = 1;
+                while (rows.hasNext()) {
+                    T row = rows.next();
+                    Row line = target.createRow(index++);
+                    for (int i = 0; i < columns.size(); i++) {
+                        Object value = columns.get(i).value().apply(row);
+                        Cell cell = line.createCell(i);
+                        if (value instanceof LocalDate date) {
+                            cell.setCellValue(date);
+                            cell.setCellStyle(dateStyle);
+                        } else if (value instanceof BigDecimal amount) {
+                            cell.setCellValue(amount.doubleValue());
+                        } else if (value != null) {
+                            cell.setCellValue(value.toString());
+                        }
+                    }
+                    entityManager.detach(row);
+                }
+            });
+            workbook.write(out);
+        }
+    }
+
+    // An open-ended range still needs a bound on the other side; with no range at all the streamAllByUserId
+    // queries are used instead, so records without a date are exported too.
+    private LocalDate start(LocalDate from) {
+        return from == null ? EARLIEST : from;
+    }
+
+    private LocalDate end(LocalDate to) {
+        return to == null ? LATEST : to;
+    }
+
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
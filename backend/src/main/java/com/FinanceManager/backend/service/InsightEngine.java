@@ -0,0 +1,12 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.InsightResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+public interface InsightEngine {
+    InsightResult analyze(UUID userId, List<Expense> expenses) throws IOException;
+}
@@ -0,0 +1,149 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.InsightJob;
+import com.FinanceManager.backend.entity.InsightJobStats;
+import com.FinanceManager.backend.error.AnalyticsUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs insight generation off the request threads. At most one job per user is queued or running at a time.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InsightJobService {
+    private final AnalyticsService analyticsService;
+
+    @Value("${application.analytics.insight-jobs.threads}")
+    private int threads;
+
+    @Value("${application.analytics.insight-jobs.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${application.analytics.insight-jobs.retention}")
+    private long retention;
+
+    private final Map<UUID, Task> activeByUser = new ConcurrentHashMap<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private Cache<UUID, Task> tasks;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        tasks = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(retention))
+                .build();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("insight-job-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public InsightJob submit(UUID userId, boolean force) {
+        return submitTask(userId, force).job;
+    }
+
+    // Completes with the finished job; the returned future is independent, so callers may time it out.
+    public CompletableFuture<InsightJob> completion(UUID jobId) {
+        Task task = tasks.getIfPresent(jobId);
+        return task == null ? null : task.done.thenApply(job -> job);
+    }
+
+    public CompletableFuture<InsightJob> submitAndAwait(UUID userId, boolean force) {
+        return submitTask(userId, force).done.thenApply(job -> job);
+    }
+
+    public InsightJob find(UUID jobId) {
+        Task task = tasks.getIfPresent(jobId);
+        return task == null ? null : task.job;
+    }
+
+    public InsightJobStats stats() {
+        long oldestQueuedAge = executor.getQueue().peek() instanceof Task task
+                ? Duration.between(task.job.getSubmittedAt(), LocalDateTime.now()).toMillis()
+                : 0;
+        return new InsightJobStats(executor.getQueue().size(), executor.getActiveCount(), queueCapacity,
+                oldestQueuedAge, submitted.get(), deduplicated.get(), rejected.get(), succeeded.get(), failed.get());
+    }
+
+    // A job already queued or running for the user is returned as is, even if this caller asked to force a recompute.
+    private Task submitTask(UUID userId, boolean force) {
+        Task[] created = new Task[1];
+        Task task = activeByUser.computeIfAbsent(userId, id -> created[0] = new Task(new InsightJob(UUID.randomUUID(), id), force));
+        if (created[0] == null) {
+            deduplicated.incrementAndGet();
+            return task;
+        }
+        try {
+            tasks.put(task.job.getId(), task);
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            activeByUser.remove(userId, task);
+            tasks.invalidate(task.job.getId());
+            rejected.incrementAndGet();
+            AnalyticsUnavailableException unavailable = new AnalyticsUnavailableException("Insight job queue is full");
+            task.done.completeExceptionally(unavailable);
+            throw unavailable;
+        }
+        submitted.incrementAndGet();
+        return task;
+    }
+
+    private final class Task implements Runnable {
+        private final InsightJob job;
+        private final boolean force;
+        private final CompletableFuture<InsightJob> done = new CompletableFuture<>();
+
+        Task(InsightJob job, boolean force) {
+            this.job = job;
+            this.force = force;
+        }
+
+        @Override
+        public void run() {
+            job.setStartedAt(LocalDateTime.now());
+            job.setStatus(InsightJob.Status.RUNNING);
+            InsightJob.Status outcome = InsightJob.Status.FAILED;
+            try {
+                job.setResult(analyticsService.getInsight(job.getUserId(), force));
+                outcome = InsightJob.Status.SUCCEEDED;
+                succeeded.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Insight job {} for user {} failed", job.getId(), job.getUserId(), e);
+                job.setError(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+                failed.incrementAndGet();
+            } finally {
+                job.setFinishedAt(LocalDateTime.now());
+                job.setStatus(outcome);
+                activeByUser.remove(job.getUserId(), this);
+                // Re-put so retention counts from completion rather than submission.
+                tasks.put(job.getId(), this);
+                done.complete(job);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.util.IsolationForest;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Mirrors ml/analyze_user.py, with two deliberate differences: rows without an amount or a date are left out of every
+// statistic (the script fails on a missing amount and keeps undated rows in the label and category figures), and a
+// user with no essential spending has an essentials ratio of 0 (the script's NaN makes every such user "Balanced").
+@Component
+@ConditionalOnProperty(prefix = "application.analytics", name = "engine", havingValue = "java", matchIfMissing = true)
+public class JavaInsightEngine implements InsightEngine {
+    private static final Set<String> ESSENTIALS = Set.of("food", "utilities", "health");
+    private static final Set<String> DISCRETIONARY = Set.of("entertainment", "gifts", "miscellaneous", "subscriptions", "items");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Override
+    @Timed(value = "insight.engine", extraTags = {"engine", "java"})
+    public InsightResult analyze(UUID userId, List<Expense> expenses) {
+        List<Expense> rows = expenses.stream()
+                .filter(e -> e.getAmount() != null && e.getExpenseDate() != null)
+                .toList();
+        if (rows.isEmpty()) {
+            return new InsightResult(null, "None", "No data", "No data available for analysis.", List.of(), List.of());
+        }
+
+        double[] amounts = rows.stream().mapToDouble(e -> e.getAmount().doubleValue()).toArray();
+        double total = 0;
+        double essentials = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            total += amounts[i];
+            if (ESSENTIALS.contains(rows.get(i).getCategory())) {
+                essentials += amounts[i];
+            }
+        }
+        double mean = total / amounts.length;
+        double essentialsRatio = total == 0 ? Double.NaN : essentials / total;
+
+        String label = "Balanced";
+        if (mean < 10000 && essentialsRatio > 0.7) {
+            label = "Saver";
+        } else if (mean > 20000 && essentialsRatio < 0.5) {
+            label = "Spender";
+        }
+
+        double slope = monthlySlope(rows);
+        String trend;
+        if (slope > 0) {
+            trend = "Your expenses are increasing over time. Review your budget.";
+        } else if (slope < 0) {
+            trend = "Your expenses are decreasing. Great job!";
+        } else {
+            trend = "Your expenses are stable.";
+        }
+
+        boolean[] flagged = new IsolationForest().predict(amounts);
+        List<Map<String, Object>> anomalies = new ArrayList<>();
+        for (int i = 0; i < flagged.length; i++) {
+            if (flagged[i]) {
+                Expense e = rows.get(i);
+                Map<String, Object> anomaly = new LinkedHashMap<>();
+                anomaly.put("expense_date", TIMESTAMP.format(e.getExpenseDate().atStartOfDay()));
+                anomaly.put("amount", amounts[i]);
+                anomaly.put("category", e.getCategory());
+                anomaly.put("description", e.getDescription());
+                anomalies.add(anomaly);
+            }
+        }
+
+        String topCategory = topCategory(rows);
+        List<String> suggestions = new ArrayList<>();
+
+        if (DISCRETIONARY.contains(topCategory)) {
+            suggestions.add("You seem to spend a lot on " + topCategory + ". Consider setting a monthly limit for this category.");
+        }
+
+        if (1 - essentialsRatio > 0.5) {
+            suggestions.add("Over half of your spending goes to non-essentials. Consider prioritizing savings or reducing discretionary purchases.");
+        }
+
+        Map<String, Integer> payMethods = new HashMap<>();
+        int withPayMethod = 0;
+        for (Expense e : rows) {
+            if (e.getPayMethod() != null) {
+                payMethods.merge(e.getPayMethod(), 1, Integer::sum);
+                withPayMethod++;
+            }
+        }
+        if (withPayMethod > 0) {
+            if ((double) payMethods.getOrDefault("cash", 0) / withPayMethod > 0.6) {
+                suggestions.add("You mostly use cash. Switching to digital payments (UPI/Card) can help you track expenses more easily.");
+            } else if ((double) payMethods.getOrDefault("upi", 0) / withPayMethod > 0.7) {
+                suggestions.add("You're doing well using UPI — it's easier to track and manage compared to cash.");
+            }
+        }
+
+        if (anomalies.size() > 2) {
+            suggestions.add("We noticed " + anomalies.size() + " irregular transactions. Review these to ensure they were intentional.");
+        }
+
+        Map<LocalDate, Integer> dailyCounts = new HashMap<>();
+        rows.forEach(e -> dailyCounts.merge(e.getExpenseDate(), 1, Integer::sum));
+        if (dailyCounts.values().stream().filter(count -> count > 3).count() > 5) {
+            suggestions.add("You're making frequent small purchases. Try combining or planning ahead to reduce impulse buys.");
+        }
+
+        if (label.equals("Saver") && slope <= 0) {
+            suggestions.add("Excellent financial behavior! You're spending wisely and consistently.");
+        } else if (label.equals("Balanced") && slope <= 0) {
+            suggestions.add("Great job maintaining a stable budget across categories.");
+        }
+
+        if (suggestions.isEmpty()) {
+            suggestions.add("You're doing well! Continue tracking and refining your spending habits.");
+        }
+
+        return new InsightResult(userId.toString(), topCategory, label, trend, suggestions, anomalies);
+    }
+
+    // Least-squares slope of monthly totals against the month's rank, as the script's LinearRegression does.
+    private static double monthlySlope(List<Expense> rows) {
+        TreeMap<YearMonth, Double> monthly = new TreeMap<>();
+        rows.forEach(e -> monthly.merge(YearMonth.from(e.getExpenseDate()), e.getAmount().doubleValue(), Double::sum));
+        int n = monthly.size();
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = (n - 1) / 2.0;
+        double meanY = monthly.values().stream().mapToDouble(Double::doubleValue).sum() / n;
+        double covariance = 0;
+        double variance = 0;
+        int x = 0;
+        for (double y : monthly.values()) {
+            covariance += (x - meanX) * (y - meanY);
+            variance += (x - meanX) * (x - meanX);
+            x++;
+        }
+        return covariance / variance;
+    }
+
+    private static String topCategory(List<Expense> rows) {
+        TreeMap<String, Double> totals = new TreeMap<>();
+        rows.stream()
+                .filter(e -> e.getCategory() != null)
+                .forEach(e -> totals.merge(e.getCategory(), e.getAmount().doubleValue(), Double::sum));
+        String top = "None";
+        double max = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<String, Double> entry : totals.entrySet()) {
+            if (entry.getValue() > max) {
+                max = entry.getValue();
+                top = entry.getKey();
+            }
+        }
+        return top;
+    }
+}
@@ -1,51 +1,98 @@
 package com.FinanceManager.backend.service;
 
+import com.FinanceManager.backend.entity.CursorPage;
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Loan;
+import com.FinanceManager.backend.entity.LoanResponse;
 import com.FinanceManager.backend.repository.LoanRepository;
+import com.FinanceManager.backend.util.PageCursor;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException; // Import this
 import lombok.AllArgsConstructor;
-import com.FinanceManager.backend.entity.User;
 import org.springframework.stereotype.Service;
 import com.FinanceManager.backend.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional; // Import this
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.method")
 @AllArgsConstructor
 public class LoanService {
     private LoanRepository loanRepository;
     private UserRepository userRepository;
+    private CounterpartyBalanceService counterpartyBalanceService;
+    private DataVersionService dataVersionService;
 
+    @Transactional
     public Loan createLoan(UUID userId, Loan loan) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        loan.setUser(user);
-        return loanRepository.save(loan);
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found with id: " + userId);
+        }
+        loan.setUser(userRepository.getReferenceById(userId));
+        Loan saved = loanRepository.save(loan);
+        counterpartyBalanceService.applyLoan(userId, saved.getBorrower(), saved.getAmount(), 1);
+        dataVersionService.bump(userId, DataResource.LOANS);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LoanResponse> getUserLoans(UUID userId) {
+        return loanRepository.findResponsesByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<LoanResponse> getUserLoansPage(UUID userId, String cursor, int limit) {
+        return CursorPage.datedThenUndated(PageCursor.decode(cursor), limit,
+                (after, window) -> after == null
+                        ? loanRepository.findPageByUserId(userId, window)
+                        : loanRepository.findPageByUserIdAfter(userId, after.getDate(), after.getId(), window),
+                (afterId, window) -> afterId == null
+                        ? loanRepository.findUndatedPageByUserId(userId, window)
+                        : loanRepository.findUndatedPageByUserIdAfter(userId, afterId, window),
+                loan -> new PageCursor(loan.getLoanDate(), loan.getId()));
     }
 
-    public List<Loan> getUserLoans(UUID userId) {
-        return loanRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public void streamUserLoans(UUID userId, Consumer<LoanResponse> sink) {
+        try (Stream<LoanResponse> loans = loanRepository.streamByUserId(userId)) {
+            loans.forEach(sink);
+        }
     }
 
     @Transactional
     public Loan updateLoan(UUID loanId, Loan loanDetails) {
         Loan existingLoan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new EntityNotFoundException("Loan not found with id: " + loanId));
+        UUID userId = existingLoan.getUser().getId();
+        counterpartyBalanceService.applyLoan(userId, existingLoan.getBorrower(), negate(existingLoan.getAmount()), -1);
 
         existingLoan.setAmount(loanDetails.getAmount());
         existingLoan.setDescription(loanDetails.getDescription());
         existingLoan.setLoanDate(loanDetails.getLoanDate());
         existingLoan.setBorrower(loanDetails.getBorrower());
 
-        return loanRepository.save(existingLoan);
+        Loan saved = loanRepository.save(existingLoan);
+        counterpartyBalanceService.applyLoan(userId, saved.getBorrower(), saved.getAmount(), 1);
+        dataVersionService.bump(userId, DataResource.LOANS);
+        return saved;
     }
 
+    @Transactional
     public void deleteLoan(UUID loanId) {
-        if (!loanRepository.existsById(loanId)) {
-            throw new EntityNotFoundException("Loan not found with id: " + loanId);
-        }
-        loanRepository.deleteById(loanId);
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new EntityNotFoundException("Loan not found with id: " + loanId));
+        UUID userId = loan.getUser().getId();
+        counterpartyBalanceService.applyLoan(userId, loan.getBorrower(), negate(loan.getAmount()), -1);
+        loanRepository.delete(loan);
+        dataVersionService.bump(userId, DataResource.LOANS);
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? null : amount.negate();
     }
 }
\ No newline at end of file
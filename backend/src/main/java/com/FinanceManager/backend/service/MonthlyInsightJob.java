@@ -0,0 +1,188 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.InsightJobRun;
+import com.FinanceManager.backend.repository.InsightJobRunRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.util.LatencyHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyInsightJob {
+    private static final UUID FIRST_USER = new UUID(0L, 0L);
+
+    private final AnalyticsService analyticsService;
+    private final UserRepository userRepo;
+    private final InsightJobRunRepository runRepo;
+
+    @Value("${application.analytics.batch.page-size}")
+    private int pageSize;
+
+    @Value("${application.analytics.batch.parallelism}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile InsightJobRun current;
+
+    @Scheduled(cron = "${application.analytics.batch.cron}")
+    public void generateMonthlyInsights() {
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Monthly insight job interrupted; it will resume from its last checkpoint");
+        }
+    }
+
+    // A run cut short by a crash or deploy continues from its checkpoint on the next start; waiting for next month's
+    // cron would close it as FAILED instead. Runs on its own thread so startup is not held up by the batch.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        boolean interrupted = runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING).stream()
+                .anyMatch(MonthlyInsightJob::startedThisMonth);
+        if (interrupted) {
+            log.info("Resuming the interrupted monthly insight job");
+            Thread.ofVirtual().name("monthly-insight-resume").start(this::generateMonthlyInsights);
+        }
+    }
+
+    public Optional<InsightJobRun> run() throws InterruptedException {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            InsightJobRun jobRun = resumableRun().orElseGet(() -> runRepo.save(new InsightJobRun()));
+            current = jobRun;
+            UUID cursor = jobRun.getLastUserId() == null ? FIRST_USER : jobRun.getLastUserId();
+            log.info("Monthly insight job {} starting after user {}", jobRun.getId(), cursor);
+
+            LatencyHistogram latencies = new LatencyHistogram(TimeUnit.MINUTES.toMillis(10));
+            Semaphore permits = new Semaphore(parallelism);
+            long segmentStart = System.nanoTime();
+            long wallBefore = jobRun.getWallMillis();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<UUID> page;
+                while (!(page = userRepo.findIdsAfter(cursor, PageRequest.of(0, pageSize))).isEmpty()) {
+                    List<Future<Boolean>> results = new ArrayList<>(page.size());
+                    for (UUID userId : page) {
+                        permits.acquire();
+                        results.add(executor.submit(() -> {
+                            try {
+                                return analyze(userId, latencies);
+                            } finally {
+                                permits.release();
+                            }
+                        }));
+                    }
+
+                    long failures = 0;
+                    for (Future<Boolean> result : results) {
+                        if (!result.get()) {
+                            failures++;
+                        }
+                    }
+
+                    cursor = page.get(page.size() - 1);
+                    jobRun.setLastUserId(cursor);
+                    jobRun.setUsersProcessed(jobRun.getUsersProcessed() + page.size());
+                    jobRun.setFailures(jobRun.getFailures() + failures);
+                    record(jobRun, latencies, wallBefore, segmentStart);
+                    jobRun = runRepo.save(jobRun);
+                    current = jobRun;
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Monthly insight task failed unexpectedly", e.getCause());
+            }
+
+            jobRun.setStatus(InsightJobRun.Status.COMPLETED);
+            jobRun.setFinishedAt(LocalDateTime.now());
+            record(jobRun, latencies, wallBefore, segmentStart);
+            jobRun = runRepo.save(jobRun);
+            current = jobRun;
+            log.info("Monthly insight job {} finished: {} users, {} failures, p50 {} ms, p99 {} ms, {} ms total",
+                    jobRun.getId(), jobRun.getUsersProcessed(), jobRun.getFailures(),
+                    jobRun.getP50Millis(), jobRun.getP99Millis(), jobRun.getWallMillis());
+            return Optional.of(jobRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    // The run in progress, or the last one this instance worked on; progress is as of the last checkpoint.
+    public Optional<InsightJobRun> currentRun() {
+        return Optional.ofNullable(current);
+    }
+
+    public List<InsightJobRun> recentRuns() {
+        return runRepo.findTop20ByOrderByStartedAtDesc();
+    }
+
+    // Only a run started this month is resumed. Orphans from earlier months are closed as FAILED, otherwise
+    // this month's run would continue from their cursor and skip every user before it.
+    private Optional<InsightJobRun> resumableRun() {
+        InsightJobRun resumable = null;
+        for (InsightJobRun orphan : runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)) {
+            if (resumable == null && startedThisMonth(orphan)) {
+                resumable = orphan;
+                continue;
+            }
+            log.warn("Monthly insight job {} from {} was never finished; marking it failed", orphan.getId(), orphan.getStartedAt());
+            orphan.setStatus(InsightJobRun.Status.FAILED);
+            orphan.setFinishedAt(LocalDateTime.now());
+            runRepo.save(orphan);
+        }
+        return Optional.ofNullable(resumable);
+    }
+
+    private static boolean startedThisMonth(InsightJobRun jobRun) {
+        return jobRun.getStartedAt() != null && YearMonth.from(jobRun.getStartedAt()).equals(YearMonth.now());
+    }
+
+    private boolean analyze(UUID userId, LatencyHistogram latencies) {
+        long start = System.nanoTime();
+        try {
+            analyticsService.getInsight(userId, false);
+            return true;
+        } catch (Exception e) {
+            log.warn("Monthly insight failed for user {}", userId, e);
+            return false;
+        } finally {
+            latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    // Percentiles cover the current segment; a resumed run does not replay the samples of earlier segments.
+    private static void record(InsightJobRun jobRun, LatencyHistogram latencies, long wallBefore, long segmentStart) {
+        jobRun.setP50Millis(latencies.percentile(0.50));
+        jobRun.setP99Millis(latencies.percentile(0.99));
+        jobRun.setWallMillis(wallBefore + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - segmentStart));
+        jobRun.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,39 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.analytics", name = "engine", havingValue = "python")
+public class PythonInsightEngine implements InsightEngine {
+    private final PythonWorkerPool workerPool;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Timed(value = "insight.engine", extraTags = {"engine", "python"})
+    public InsightResult analyze(UUID userId, List<Expense> expenses) throws IOException {
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode data = request.putArray("expenses");
+        expenses.forEach(e -> data.addObject()
+                .put("user_id", userId.toString())
+                .put("amount", e.getAmount())
+                .put("description", e.getDescription())
+                .put("category", e.getCategory())
+                .put("pay_method", e.getPayMethod())
+                .put("expense_date", e.getExpenseDate().toString()));
+
+        return objectMapper.treeToValue(workerPool.execute(request), InsightResult.class);
+    }
+}
@@ -0,0 +1,285 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.error.AnalyticsUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.analytics", name = "engine", havingValue = "python")
+public class PythonWorkerPool {
+    private static final long EXIT_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.analytics.python.executable}")
+    private String executable;
+
+    @Value("${application.analytics.python.script}")
+    private String script;
+
+    @Value("${application.analytics.python.pool.size}")
+    private int size;
+
+    @Value("${application.analytics.python.pool.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${application.analytics.python.pool.request-timeout}")
+    private long requestTimeout;
+
+    @Value("${application.analytics.python.pool.health-check-timeout}")
+    private long healthCheckTimeout;
+
+    private final AtomicLong requestIds = new AtomicLong();
+    // Every spawned process until it is retired, idle or not, so shutdown can reach workers that are mid-request.
+    private final Set<Worker> live = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+    private BlockingQueue<Worker> idle;
+    private Semaphore admission;
+    // One permit per worker the pool may still start; taken before spawning and given back when a worker is retired.
+    private Semaphore slots;
+
+    @PostConstruct
+    void start() throws IOException {
+        idle = new LinkedBlockingQueue<>(size);
+        admission = new Semaphore(size + queueCapacity);
+        slots = new Semaphore(size);
+        while (slots.tryAcquire()) {
+            idle.add(spawn());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        idle.clear();
+        live.forEach(this::retire);
+    }
+
+    public JsonNode execute(ObjectNode request) throws IOException {
+        if (!admission.tryAcquire()) {
+            throw new AnalyticsUnavailableException("Analytics worker queue is full");
+        }
+        try {
+            Worker worker = idle.poll(requestTimeout, TimeUnit.MILLISECONDS);
+            if (worker == null) {
+                throw new AnalyticsUnavailableException("Timed out waiting for an analytics worker");
+            }
+            boolean healthy = false;
+            try {
+                if (!worker.isAlive()) {
+                    Worker dead = worker;
+                    worker = null;
+                    worker = replace(dead);
+                    if (worker == null) {
+                        throw new IOException("Analytics worker pool is shutting down");
+                    }
+                }
+                JsonNode response = worker.call(request, requestTimeout);
+                healthy = true;
+                if (response.hasNonNull("error")) {
+                    throw new IOException("Analytics worker failed: " + response.get("error").asText());
+                }
+                return response.get("result");
+            } finally {
+                // A null worker was already retired and not replaced; the health check restores the pool size.
+                if (worker != null) {
+                    release(worker, healthy);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an analytics worker", e);
+        } finally {
+            admission.release();
+        }
+    }
+
+    public int queueDepth() {
+        int inFlight = size + queueCapacity - admission.availablePermits();
+        return Math.max(0, inFlight - (size - idle.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.analytics.python.pool.health-check-interval}")
+    public void checkHealth() {
+        for (int i = 0; i < size; i++) {
+            Worker worker = idle.poll();
+            if (worker == null) {
+                break;
+            }
+            boolean healthy = false;
+            try {
+                ObjectNode ping = objectMapper.createObjectNode().put("ping", true);
+                healthy = worker.call(ping, healthCheckTimeout).path("pong").asBoolean();
+            } catch (IOException e) {
+                log.warn("Analytics worker failed health check: {}", e.getMessage());
+            }
+            release(worker, healthy);
+        }
+        try {
+            while (!stopped && slots.tryAcquire()) {
+                offer(spawn());
+            }
+        } catch (IOException e) {
+            log.error("Could not restart analytics worker", e);
+        }
+    }
+
+    public int liveWorkers() {
+        return live.size();
+    }
+
+    private void release(Worker worker, boolean healthy) {
+        if (healthy && !stopped) {
+            offer(worker);
+            return;
+        }
+        if (stopped) {
+            retire(worker);
+            return;
+        }
+        try {
+            Worker replacement = replace(worker);
+            if (replacement != null) {
+                offer(replacement);
+            }
+        } catch (IOException e) {
+            log.error("Could not restart analytics worker", e);
+        }
+    }
+
+    private void offer(Worker worker) {
+        if (!idle.offer(worker)) {
+            log.warn("Analytics worker {} has no idle slot, stopping it", worker.process.pid());
+            retire(worker);
+        }
+    }
+
+    // Hands the retired worker's slot straight to its replacement, so a concurrent top-up cannot claim it in between.
+    // Returns null when the worker was already retired elsewhere, or the pool is stopping.
+    private Worker replace(Worker worker) throws IOException {
+        if (!live.remove(worker)) {
+            return null;
+        }
+        worker.destroy();
+        if (stopped) {
+            slots.release();
+            return null;
+        }
+        return spawn();
+    }
+
+    // The caller must hold a slot; it is given back if the process cannot be started.
+    private Worker spawn() throws IOException {
+        Process process;
+        try {
+            process = new ProcessBuilder(executable, script, "--worker").start();
+        } catch (IOException e) {
+            slots.release();
+            throw e;
+        }
+        Worker worker = new Worker(process);
+        live.add(worker);
+        return worker;
+    }
+
+    // Idempotent, so a worker retired on one path and released on another is only counted once.
+    private void retire(Worker worker) {
+        if (live.remove(worker)) {
+            worker.destroy();
+            slots.release();
+        }
+    }
+
+    private final class Worker {
+        private final Process process;
+        private final BufferedWriter writer;
+        private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+
+        Worker(Process process) {
+            this.process = process;
+            this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            pump(process.getInputStream(), responses::add, "stdout");
+            pump(process.getErrorStream(), line -> log.warn("Python worker {}: {}", process.pid(), line), "stderr");
+        }
+
+        JsonNode call(ObjectNode request, long timeoutMillis) throws IOException {
+            long id = requestIds.incrementAndGet();
+            request.put("id", id);
+            writer.write(objectMapper.writeValueAsString(request));
+            writer.newLine();
+            writer.flush();
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                while (true) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new IOException("Analytics worker " + process.pid() + " timed out after " + timeoutMillis + " ms");
+                    }
+                    // Polls in short slices so a worker that crashed or was destroyed fails the call now, not at the deadline.
+                    String line = responses.poll(Math.min(remaining, EXIT_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (line == null && !process.isAlive()) {
+                        // One more slice lets the stdout pump hand over anything the process wrote before exiting.
+                        line = responses.poll(EXIT_CHECK_NANOS, TimeUnit.NANOSECONDS);
+                        if (line == null) {
+                            throw new IOException("Analytics worker " + process.pid() + " exited with code " + process.exitValue());
+                        }
+                    }
+                    if (line == null) {
+                        continue;
+                    }
+                    JsonNode response = objectMapper.readTree(line);
+                    if (response.path("id").asLong() == id) {
+                        return response;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for analytics worker", e);
+            }
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        void destroy() {
+            process.destroyForcibly();
+        }
+
+        // Both pipes are drained continuously so a chatty script can never block on a full buffer.
+        private void pump(InputStream stream, Consumer<String> sink, String name) {
+            Thread.ofVirtual().name("python-worker-" + process.pid() + "-" + name).start(() -> {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        sink.accept(line);
+                    }
+                } catch (IOException ignored) {
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.RateLimitClass;
+import com.FinanceManager.backend.entity.RateLimitStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token buckets per client and endpoint class, plus a global bulkhead for insight requests.
+// Both reject immediately instead of queueing, so an overloaded node answers fast and CRUD keeps its own budget.
+@Service
+public class RateLimitService {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Value("${application.rate-limits.enabled}")
+    private boolean enabled;
+
+    @Value("${application.rate-limits.max-keys}")
+    private long maxKeys;
+
+    @Value("${application.rate-limits.idle-expiry}")
+    private long idleExpiry;
+
+    @Value("${application.rate-limits.crud.capacity}")
+    private double crudCapacity;
+
+    @Value("${application.rate-limits.crud.refill-per-second}")
+    private double crudRefill;
+
+    @Value("${application.rate-limits.analytics.capacity}")
+    private double analyticsCapacity;
+
+    @Value("${application.rate-limits.analytics.refill-per-second}")
+    private double analyticsRefill;
+
+    @Value("${application.rate-limits.bulk.capacity}")
+    private double bulkCapacity;
+
+    @Value("${application.rate-limits.bulk.refill-per-second}")
+    private double bulkRefill;
+
+    @Value("${application.rate-limits.insights.capacity}")
+    private double insightsCapacity;
+
+    @Value("${application.rate-limits.insights.refill-per-second}")
+    private double insightsRefill;
+
+    @Value("${application.rate-limits.bulkhead.max-concurrent}")
+    private int bulkheadLimit;
+
+    @Value("${application.rate-limits.bulkhead.retry-after}")
+    private long bulkheadRetryAfter;
+
+    private final Map<RateLimitClass, Limit> limits = new EnumMap<>(RateLimitClass.class);
+    private final Map<RateLimitClass, AtomicLong> allowed = new EnumMap<>(RateLimitClass.class);
+    private final Map<RateLimitClass, AtomicLong> throttled = new EnumMap<>(RateLimitClass.class);
+    private final AtomicLong bulkheadRejected = new AtomicLong();
+    private LongSupplier ticker = System::nanoTime;
+    private Cache<BucketKey, Bucket> buckets;
+    private Semaphore bulkhead;
+
+    @PostConstruct
+    void init() {
+        limits.put(RateLimitClass.CRUD, Limit.of(crudCapacity, crudRefill));
+        limits.put(RateLimitClass.ANALYTICS, Limit.of(analyticsCapacity, analyticsRefill));
+        limits.put(RateLimitClass.BULK, Limit.of(bulkCapacity, bulkRefill));
+        limits.put(RateLimitClass.INSIGHTS, Limit.of(insightsCapacity, insightsRefill));
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            allowed.put(limitClass, new AtomicLong());
+            throttled.put(limitClass, new AtomicLong());
+        }
+        // An evicted bucket comes back full, so idle-expiry should exceed the slowest class's full refill time.
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(idleExpiry))
+                .build();
+        bulkhead = new Semaphore(bulkheadLimit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns 0 when a token was taken, otherwise the whole seconds until the next one is available.
+    public long tryAcquire(String client, RateLimitClass limitClass) {
+        Limit limit = limits.get(limitClass);
+        Bucket bucket = buckets.get(new BucketKey(client, limitClass), key -> new Bucket(limit.capacity(), ticker.getAsLong()));
+        long waitNanos = bucket.tryTake(limit, ticker.getAsLong());
+        if (waitNanos == 0) {
+            allowed.get(limitClass).incrementAndGet();
+            return 0;
+        }
+        throttled.get(limitClass).incrementAndGet();
+        return Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    // Every successful call must be paired with exitBulkhead().
+    public boolean tryEnterBulkhead() {
+        if (bulkhead.tryAcquire()) {
+            return true;
+        }
+        bulkheadRejected.incrementAndGet();
+        return false;
+    }
+
+    public void exitBulkhead() {
+        bulkhead.release();
+    }
+
+    public long bulkheadRetryAfter() {
+        return bulkheadRetryAfter;
+    }
+
+    public RateLimitStats stats() {
+        return new RateLimitStats(enabled, buckets.estimatedSize(), counts(allowed), counts(throttled),
+                bulkheadLimit - bulkhead.availablePermits(), bulkheadLimit, bulkheadRejected.get());
+    }
+
+    private static Map<RateLimitClass, Long> counts(Map<RateLimitClass, AtomicLong> counters) {
+        Map<RateLimitClass, Long> counts = new EnumMap<>(RateLimitClass.class);
+        counters.forEach((limitClass, count) -> counts.put(limitClass, count.get()));
+        return counts;
+    }
+
+    private record BucketKey(String client, RateLimitClass limitClass) {
+    }
+
+    // Token counts are kept in billionths of a token, so a refill is elapsed nanos times the per-second rate.
+    private record Limit(long capacity, double refillPerSecond) {
+        static Limit of(double capacity, double refillPerSecond) {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalStateException("Rate limits need a capacity of at least 1 and a positive refill rate");
+            }
+            return new Limit((long) (capacity * NANOS_PER_SECOND), refillPerSecond);
+        }
+    }
+
+    private static final class Bucket {
+        private long tokens;
+        private long refilledAt;
+
+        Bucket(long tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        // Refills lazily from the time since the last call; returns the nanos until a token is available, or 0 if one was taken.
+        synchronized long tryTake(Limit limit, long now) {
+            tokens = Math.min(limit.capacity(), tokens + (long) ((now - refilledAt) * limit.refillPerSecond()));
+            refilledAt = now;
+            if (tokens >= NANOS_PER_SECOND) {
+                tokens -= NANOS_PER_SECOND;
+                return 0;
+            }
+            return (long) Math.ceil((NANOS_PER_SECOND - tokens) / limit.refillPerSecond());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.DashboardTotals;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Week, month and year totals over R2DBC from the daily rollups, plus a live feed that re-reads them after each committed change.
+@Service
+@RequiredArgsConstructor
+public class ReactiveDashboardService {
+    private static final String TOTALS_SQL = "SELECT " +
+            "COALESCE(SUM(CASE WHEN expense_date >= :weekStart THEN total END), 0) AS week_total, " +
+            "COALESCE(SUM(CASE WHEN expense_date >= :monthStart THEN total END), 0) AS month_total, " +
+            "COALESCE(SUM(CASE WHEN expense_date >= :yearStart THEN total END), 0) AS year_total " +
+            "FROM expense_daily_rollups WHERE user_id = :userId AND expense_date BETWEEN :from AND :today";
+
+    private final DatabaseClient databaseClient;
+    private final Sinks.Many<UUID> changes = Sinks.many().multicast().directBestEffort();
+
+    @Value("${application.analytics.live-totals.refresh}")
+    private long refresh;
+
+    public Mono<DashboardTotals> getTotals(UUID userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate yearStart = today.withDayOfYear(1);
+        return databaseClient.sql(TOTALS_SQL)
+                .bind("userId", userId)
+                .bind("weekStart", weekStart)
+                .bind("monthStart", monthStart)
+                .bind("yearStart", yearStart)
+                .bind("from", weekStart.isBefore(yearStart) ? weekStart : yearStart)
+                .bind("today", today)
+                .map(row -> new DashboardTotals(today,
+                        row.get("week_total", BigDecimal.class),
+                        row.get("month_total", BigDecimal.class),
+                        row.get("year_total", BigDecimal.class)))
+                .one();
+    }
+
+    // Emits the current totals, then fresh totals after every committed change for the user and every refresh interval.
+    // switchMap drops a stale read when a newer change arrives, so slow subscribers never queue up work.
+    public Flux<DashboardTotals> liveTotals(UUID userId) {
+        return Flux.merge(changes.asFlux().filter(userId::equals), Flux.interval(Duration.ofMillis(refresh)).map(tick -> userId))
+                .startWith(userId)
+                .onBackpressureLatest()
+                .switchMap(this::getTotals);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        changes.emitNext(event.getUserId(), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+}
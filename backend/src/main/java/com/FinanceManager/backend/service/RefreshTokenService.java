@@ -0,0 +1,161 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.RefreshToken;
+import com.FinanceManager.backend.entity.TokenPair;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.error.InvalidRefreshTokenException;
+import com.FinanceManager.backend.repository.RefreshTokenRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Issues access/refresh token pairs. Refresh tokens are random, stored only as SHA-256 hashes and single use:
+// each refresh replaces the token with a new one in the same family, so a session renews without a password check.
+// Tabs share the refresh cookie but not their refresh calls, so a token presented again within reuse-grace of its
+// rotation gets the same successor back. Only later replays are treated as theft.
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtUtil jwtUtil;
+    private final EntityManager entityManager;
+
+    @Value("${application.security.refresh-token.expiration}")
+    private long refreshExpiration;
+
+    @Value("${application.security.refresh-token.reuse-grace}")
+    private long reuseGrace;
+
+    // Successors by the hash of the token they replaced. Raw tokens are never stored, so this only lives in memory.
+    private Cache<String, TokenPair> recentRotations;
+
+    @PostConstruct
+    void init() {
+        recentRotations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(reuseGrace, 1)))
+                .build();
+    }
+
+    // Starts a new family after a password login.
+    @Transactional
+    public TokenPair issue(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return issue(user.getId(), user.getUsername(), UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    // A token replayed after its grace window has leaked, so its whole family is revoked, including live access tokens.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public TokenPair rotate(String refreshToken) {
+        String tokenHash = hash(refreshToken);
+        RefreshToken current = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            return replay(current, tokenHash, now);
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        UUID nextId = UUID.randomUUID();
+        if (refreshTokenRepository.markRotated(current.getId(), nextId, now) == 0) {
+            entityManager.refresh(current);
+            return replay(current, tokenHash, now);
+        }
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("User no longer exists"));
+        TokenPair next = issue(user.getId(), user.getUsername(), current.getFamilyId(), nextId);
+        recentRotations.put(tokenHash, next);
+        return next;
+    }
+
+    private TokenPair replay(RefreshToken token, String tokenHash, LocalDateTime now) {
+        boolean withinGrace = token.getReplacedBy() != null
+                && token.getRevokedAt().isAfter(now.minus(reuseGrace, ChronoUnit.MILLIS));
+        if (!withinGrace) {
+            revokeFamily(token.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token was already used; its family has been revoked");
+        }
+        TokenPair successor = recentRotations.getIfPresent(tokenHash);
+        boolean successorLive = refreshTokenRepository.findById(token.getReplacedBy())
+                .map(next -> next.getRevokedAt() == null)
+                .orElse(false);
+        if (successor == null || !successorLive) {
+            throw new InvalidRefreshTokenException("Refresh token was just rotated; use its successor");
+        }
+        return successor;
+    }
+
+    // Logout. Unknown tokens are ignored so logging out twice is harmless.
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${application.security.refresh-token.purge-interval}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private TokenPair issue(UUID userId, String username, UUID familyId, UUID id) {
+        String accessTokenId = UUID.randomUUID().toString();
+        String accessToken = jwtUtil.generateToken(username, accessTokenId);
+        String refreshToken = newToken();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(refreshExpiration, ChronoUnit.MILLIS);
+        entityManager.persist(new RefreshToken(id, userId, familyId, hash(refreshToken), accessTokenId, now, expiresAt, null, null));
+        return new TokenPair(accessToken, refreshToken, expiresAt);
+    }
+
+    private void revokeFamily(UUID familyId, LocalDateTime now) {
+        refreshTokenRepository.revokeFamily(familyId, now);
+        long accessTtl = jwtUtil.getExpiration();
+        LocalDateTime issuedAfter = now.minus(accessTtl, ChronoUnit.MILLIS);
+        for (RefreshToken token : refreshTokenRepository.findByFamilyIdAndCreatedAtAfter(familyId, issuedAfter)) {
+            tokenRevocationService.revoke(token.getAccessTokenId(), token.getCreatedAt().plus(accessTtl, ChronoUnit.MILLIS));
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // The tokens carry 256 random bits, so a fast unsalted hash is enough to keep the table useless if it leaks.
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
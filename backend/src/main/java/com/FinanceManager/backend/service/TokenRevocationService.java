@@ -0,0 +1,50 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.entity.RevokedToken;
+import com.FinanceManager.backend.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Access token ids revoked before their expiry. The auth filter checks an in-memory map, so no request reads the table;
+// the scheduled refresh picks up revocations made on other instances and drops ids whose tokens have expired anyway.
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    // Tokens issued without an id cannot be revoked individually and only expire.
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${application.security.revocation.refresh-interval}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revoked.putIfAbsent(token.getTokenId(), token.getExpiresAt());
+        }
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,241 @@
+package com.FinanceManager.backend.service;
+
+import com.FinanceManager.backend.config.BoundedPasswordEncoder;
+import com.FinanceManager.backend.entity.RegisterUserRequest;
+import com.FinanceManager.backend.entity.UserImportResult;
+import com.FinanceManager.backend.error.PasswordHashingBusyException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Creates accounts in bulk: passwords are hashed in parallel on a pool of its own (so imports never queue behind
+// or ahead of logins), then each batch is inserted in one round trip with duplicates left to the unique constraint.
+@Slf4j
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+public class UserImportService {
+    private static final String INSERT_SQL = "INSERT INTO users (id, username, password_hash, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    // Reports 0 rows for a taken username instead of failing the batch. Needs the driver's reWriteBatchedInserts off,
+    // which would otherwise report SUCCESS_NO_INFO for every row.
+    private static final String INSERT_ON_CONFLICT_SQL = INSERT_SQL + " ON CONFLICT (username) DO NOTHING";
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.users.import.batch-size}")
+    private int batchSize;
+
+    @Value("${application.users.import.max-entries}")
+    private int maxEntries;
+
+    @Value("${application.users.import.hashing-threads}")
+    private int hashingThreads;
+
+    @Value("${application.users.import.hashing-queue-capacity}")
+    private int hashingQueueCapacity;
+
+    // There are no roles, so bulk creation is limited to the accounts named here; empty disables the endpoint.
+    @Value("${application.users.import.allowed-users}")
+    private Set<String> allowedUsers;
+
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolExecutor hashingExecutor;
+    private boolean onConflictSupported;
+
+    @PostConstruct
+    void init() throws SQLException {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        hashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(hashingQueueCapacity), Thread.ofPlatform().name("user-import-hash-", 0).daemon().factory());
+        try (Connection connection = dataSource.getConnection()) {
+            onConflictSupported = connection.isWrapperFor(PGConnection.class);
+        }
+        log.info("User imports will use {}", onConflictSupported ? "batched INSERT ... ON CONFLICT" : "row-by-row inserts");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    public boolean isAllowed(String username) {
+        return username != null && allowedUsers.contains(username);
+    }
+
+    // Expects a JSON array of {"username", "password"} objects; every entry gets a result in input order.
+    // The whole body is parsed and checked before the first insert, so a malformed body creates nobody.
+    public UserImportResult importJson(InputStream body) throws IOException {
+        long startedAt = System.nanoTime();
+        List<UserImportResult.Entry> entries = new ArrayList<>();
+        List<Pending> pending = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of users");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                long row = entries.size() + 1;
+                if (token == null) {
+                    throw new IllegalArgumentException("The users array ends before it is closed, after entry " + (row - 1));
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Entry " + row + " is not a JSON object");
+                }
+                if (entries.size() >= maxEntries) {
+                    throw new IllegalArgumentException("At most " + maxEntries + " users can be imported per request");
+                }
+                RegisterUserRequest request = objectMapper.readValue(parser, RegisterUserRequest.class);
+                String username = request.getUsername() == null ? null : request.getUsername().trim();
+                UserImportResult.Entry entry = new UserImportResult.Entry(row, username, null, null, null);
+                entries.add(entry);
+                if (username == null || username.isEmpty()) {
+                    reject(entry, UserImportResult.Status.INVALID, "username is required");
+                } else if (request.getPassword() == null || request.getPassword().isEmpty()) {
+                    reject(entry, UserImportResult.Status.INVALID, "password is required");
+                } else if (!seen.add(username)) {
+                    reject(entry, UserImportResult.Status.DUPLICATE, "username appears earlier in this request");
+                } else {
+                    pending.add(new Pending(entry, request.getPassword()));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON after entry " + entries.size() + ": " + e.getOriginalMessage(), e);
+        }
+
+        // Batches commit one by one. If hashing saturates after some users were created, the rest are reported as
+        // SKIPPED so the caller knows exactly which entries to resend; if it saturates first, nothing was created.
+        int from = 0;
+        try {
+            for (; from < pending.size(); from += batchSize) {
+                List<Pending> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                List<String> hashes = hash(batch);
+                insert(batch, hashes);
+            }
+        } catch (PasswordHashingBusyException e) {
+            if (from == 0) {
+                throw e;
+            }
+            log.warn("User import stopped after {} of {} pending entries: {}", from, pending.size(), e.getMessage());
+            for (Pending p : pending.subList(from, pending.size())) {
+                reject(p.entry(), UserImportResult.Status.SKIPPED, "not imported, password hashing is busy; resend this entry");
+            }
+        }
+
+        long created = entries.stream().filter(e -> e.getStatus() == UserImportResult.Status.CREATED).count();
+        long duplicates = entries.stream().filter(e -> e.getStatus() == UserImportResult.Status.DUPLICATE).count();
+        long skipped = entries.stream().filter(e -> e.getStatus() == UserImportResult.Status.SKIPPED).count();
+        return new UserImportResult(entries.size(), created, duplicates, entries.size() - created - duplicates - skipped,
+                skipped, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), entries);
+    }
+
+    private List<String> hash(List<Pending> batch) {
+        PasswordEncoder bcrypt = passwordEncoder.unbounded();
+        List<CompletableFuture<String>> hashes = new ArrayList<>(batch.size());
+        try {
+            for (Pending p : batch) {
+                hashes.add(CompletableFuture.supplyAsync(() -> bcrypt.encode(p.password()), hashingExecutor));
+            }
+        } catch (RejectedExecutionException e) {
+            hashes.forEach(hash -> hash.cancel(false));
+            throw new PasswordHashingBusyException("User import hashing queue is full");
+        }
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void insert(List<Pending> batch, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UUID> ids = batch.stream().map(p -> UUID.randomUUID()).toList();
+        if (onConflictSupported) {
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_ON_CONFLICT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, ids.get(i), batch.get(i).entry().getUsername(), hashes.get(i), now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                record(batch.get(i).entry(), counts[i] == 1, ids.get(i));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            UUID id = ids.get(i);
+            String username = batch.get(i).entry().getUsername();
+            String hash = hashes.get(i);
+            boolean inserted;
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, id, username, hash, now));
+                inserted = true;
+            } catch (DuplicateKeyException e) {
+                inserted = false;
+            }
+            record(batch.get(i).entry(), inserted, id);
+        }
+    }
+
+    private static void bind(PreparedStatement ps, UUID id, String username, String hash, Timestamp now) throws SQLException {
+        ps.setObject(1, id);
+        ps.setString(2, username);
+        ps.setString(3, hash);
+        ps.setTimestamp(4, now);
+        ps.setTimestamp(5, now);
+    }
+
+    private static void record(UserImportResult.Entry entry, boolean inserted, UUID id) {
+        if (inserted) {
+            entry.setStatus(UserImportResult.Status.CREATED);
+            entry.setId(id);
+        } else {
+            reject(entry, UserImportResult.Status.DUPLICATE, "username already exists");
+        }
+    }
+
+    private static void reject(UserImportResult.Entry entry, UserImportResult.Status status, String message) {
+        entry.setStatus(status);
+        entry.setMessage(message);
+    }
+
+    private record Pending(UserImportResult.Entry entry, String password) {
+    }
+}
@@ -5,29 +5,64 @@ import com.FinanceManager.backend.entity.User;
 import com.FinanceManager.backend.entity.UserResponse;
 import com.FinanceManager.backend.error.UserAlreadyExistsException;
 import com.FinanceManager.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
+
 @Service
+@Timed("service.method")
 @AllArgsConstructor
 public class UserService {
+    private static final int MAX_USERNAME_LENGTH = 255;
+    private static final String UNIQUE_VIOLATION = "23505";
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // The unique constraint on username reports duplicates, so there is no lookup first and no race between check and insert.
     public UserResponse registerUser(RegisterUserRequest registerUserRequest){
-        if (userRepository.findByUsername(registerUserRequest.getUsername()).isPresent()){
-            throw new UserAlreadyExistsException("User Already Exists");
+        String username = registerUserRequest.getUsername();
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("username is required");
+        }
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            throw new IllegalArgumentException("username is longer than " + MAX_USERNAME_LENGTH + " characters");
+        }
+        if (registerUserRequest.getPassword() == null || registerUserRequest.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("password is required");
         }
         User user = new User();
         user.setUsername(registerUserRequest.getUsername());
         user.setPasswordHash(passwordEncoder.encode(registerUserRequest.getPassword()));
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new UserAlreadyExistsException("User Already Exists");
+            }
+            throw e;
+        }
         return new UserResponse(savedUser.getId(), savedUser.getUsername());
     }
 
+    // The id is generated, so username is the only unique column a registration can collide on.
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException
+                    || (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public User findByUsername(String username) {
         return userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
@@ -0,0 +1,47 @@
+package com.FinanceManager.backend.util;
+
+import com.FinanceManager.backend.config.ReadWriteRoutingDataSource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Answers If-None-Match before the body is computed, so a matching tag costs no reads beyond the tag itself.
+// The tag does not depend on the representation, so every response varies by Accept: a cached JSON copy must not be
+// revalidated for a CBOR request.
+// The tag is read from the primary, so the body is too: a lagging replica would otherwise pair a current tag with
+// stale data, which the client would then keep revalidating as fresh until the next write.
+public final class ConditionalGet {
+    // Lets browsers keep the response but forces a revalidation on every use (Spring Security would otherwise send no-store).
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    // Returns null once checkNotModified has written the 304; Spring MVC treats that as a handled response.
+    public static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            if (request instanceof NativeWebRequest nativeRequest) {
+                HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+                if (response != null) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                }
+            }
+            return null;
+        }
+        return tagged(etag, ReadWriteRoutingDataSource.onPrimary(body));
+    }
+
+    public static <T> ResponseEntity<T> tagged(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+}
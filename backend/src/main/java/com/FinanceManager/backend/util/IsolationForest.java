@@ -0,0 +1,143 @@
+package com.FinanceManager.backend.util;
+
+import java.util.Random;
+
+// One-dimensional isolation forest with scikit-learn's defaults (contamination "auto"):
+// a sample is anomalous when its anomaly score exceeds 0.5.
+public class IsolationForest {
+    private static final double EULER_GAMMA = 0.5772156649015329;
+    private static final double AUTO_THRESHOLD = 0.5;
+
+    private final int trees;
+    private final int maxSamples;
+    private final long seed;
+
+    public IsolationForest() {
+        this(100, 256, 42L);
+    }
+
+    public IsolationForest(int trees, int maxSamples, long seed) {
+        this.trees = trees;
+        this.maxSamples = maxSamples;
+        this.seed = seed;
+    }
+
+    public double[] scores(double[] values) {
+        int n = values.length;
+        double[] scores = new double[n];
+        if (n == 0) {
+            return scores;
+        }
+        int sampleSize = Math.min(maxSamples, n);
+        int maxDepth = (int) Math.ceil(Math.log(Math.max(sampleSize, 2)) / Math.log(2));
+        Random random = new Random(seed);
+        double[] depths = new double[n];
+
+        for (int t = 0; t < trees; t++) {
+            double[] sample = subsample(values, sampleSize, random);
+            Node root = build(sample, 0, sample.length, 0, maxDepth, random);
+            for (int i = 0; i < n; i++) {
+                depths[i] += pathLength(root, values[i]);
+            }
+        }
+
+        double normalizer = averagePathLength(sampleSize);
+        for (int i = 0; i < n; i++) {
+            double meanDepth = depths[i] / trees;
+            scores[i] = normalizer == 0 ? AUTO_THRESHOLD : Math.pow(2, -meanDepth / normalizer);
+        }
+        return scores;
+    }
+
+    public boolean[] predict(double[] values) {
+        double[] scores = scores(values);
+        boolean[] anomalies = new boolean[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            anomalies[i] = scores[i] > AUTO_THRESHOLD;
+        }
+        return anomalies;
+    }
+
+    private static double[] subsample(double[] values, int size, Random random) {
+        double[] copy = values.clone();
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            double tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        double[] sample = new double[size];
+        System.arraycopy(copy, 0, sample, 0, size);
+        return sample;
+    }
+
+    private static Node build(double[] sample, int from, int to, int depth, int maxDepth, Random random) {
+        int size = to - from;
+        if (depth >= maxDepth || size <= 1) {
+            return Node.leaf(size);
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, sample[i]);
+            max = Math.max(max, sample[i]);
+        }
+        if (min == max) {
+            return Node.leaf(size);
+        }
+        double threshold = min + random.nextDouble() * (max - min);
+        int split = from;
+        for (int i = from; i < to; i++) {
+            if (sample[i] <= threshold) {
+                double tmp = sample[split];
+                sample[split] = sample[i];
+                sample[i] = tmp;
+                split++;
+            }
+        }
+        return Node.split(threshold,
+                build(sample, from, split, depth + 1, maxDepth, random),
+                build(sample, split, to, depth + 1, maxDepth, random));
+    }
+
+    private static double pathLength(Node node, double value) {
+        int depth = 0;
+        while (node.left != null) {
+            node = value <= node.threshold ? node.left : node.right;
+            depth++;
+        }
+        return depth + averagePathLength(node.size);
+    }
+
+    static double averagePathLength(int n) {
+        if (n <= 1) {
+            return 0;
+        }
+        if (n == 2) {
+            return 1;
+        }
+        return 2 * (Math.log(n - 1) + EULER_GAMMA) - 2.0 * (n - 1) / n;
+    }
+
+    private static final class Node {
+        private final double threshold;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(double threshold, Node left, Node right, int size) {
+            this.threshold = threshold;
+            this.left = left;
+            this.right = right;
+            this.size = size;
+        }
+
+        static Node leaf(int size) {
+            return new Node(0, null, null, size);
+        }
+
+        static Node split(double threshold, Node left, Node right) {
+            return new Node(threshold, left, right, 0);
+        }
+    }
+}
@@ -2,15 +2,17 @@ package com.FinanceManager.backend.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -21,34 +23,39 @@ public class JwtUtil {
     @Value("${application.security.jwt.expiration}")
     private long EXPIRATION;
 
+    private SecretKey key;
+
+    @PostConstruct
+    void initKey() {
+        key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+    }
+
     public String generateToken(String username) {
+        return generateToken(username, UUID.randomUUID().toString());
+    }
+
+    // The token id (jti) is what TokenRevocationService revokes.
+    public String generateToken(String username, String tokenId) {
         return Jwts.builder()
+                .id(tokenId)
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
-
-    private Claims extractClaims(String token) {
-        return Jwts.parser().setSigningKey(getKey(SECRET)).build().parseClaimsJws(token).getPayload();
-    }
-
-    private byte[] getKey(String SECRET){
-        return Base64.getDecoder().decode(SECRET);
+    // Verifies the signature and expiry in one pass; throws JwtException when either fails.
+    @Timed(value = "auth.jwt.verify", description = "JWT signature and expiry checks that missed the token cache")
+    public Claims parseClaims(String token) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    public long getExpiration() {
+        return EXPIRATION;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
     }
-
 }
@@ -0,0 +1,68 @@
+package com.FinanceManager.backend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-bucketed millisecond histogram: exact below 32 ms, then 16 buckets per power of two (about 6% relative error),
+// so a ten-minute range fits in a few hundred counters. Samples above maxMillis are counted in the last bucket.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long maxMillis;
+    private final AtomicLongArray buckets;
+
+    public LatencyHistogram(long maxMillis) {
+        this.maxMillis = maxMillis;
+        this.buckets = new AtomicLongArray(index(maxMillis) + 1);
+    }
+
+    public void record(long millis) {
+        buckets.incrementAndGet(index(Math.min(Math.max(millis, 0), maxMillis)));
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    // Reports the upper bound of the bucket holding the requested rank, so percentiles are never understated.
+    public long percentile(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    public int bucketCount() {
+        return buckets.length();
+    }
+
+    private static int index(long millis) {
+        if (millis < SUB_BUCKETS * 2) {
+            return (int) millis;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(millis) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (millis >> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS * 2) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long top = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
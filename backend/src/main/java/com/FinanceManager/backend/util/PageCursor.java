@@ -0,0 +1,37 @@
+package com.FinanceManager.backend.util;
+
+import com.FinanceManager.backend.error.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque keyset position over (date, id), both descending; a null date marks a position among the undated rows.
+@Data
+@AllArgsConstructor
+public class PageCursor {
+    private LocalDate date;
+    private UUID id;
+
+    public String encode() {
+        String raw = (date == null ? "" : date.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            String date = raw.substring(0, separator);
+            return new PageCursor(date.isEmpty() ? null : LocalDate.parse(date), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token, e);
+        }
+    }
+}
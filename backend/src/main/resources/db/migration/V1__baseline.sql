@@ -0,0 +1,85 @@
+-- Schema as previously created by Hibernate's ddl-auto; IF NOT EXISTS lets it baseline databases that already have it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            uuid PRIMARY KEY,
+    username      varchar(255) NOT NULL UNIQUE,
+    password_hash varchar(255) NOT NULL,
+    created_at    timestamp(6),
+    updated_at    timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS expenses (
+    id           uuid PRIMARY KEY,
+    user_id      uuid NOT NULL REFERENCES users (id),
+    amount       numeric(38, 2),
+    description  varchar(255),
+    category     varchar(255),
+    pay_method   varchar(255),
+    expense_date date,
+    created_at   timestamp(6),
+    updated_at   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS debts (
+    id          uuid PRIMARY KEY,
+    user_id     uuid NOT NULL REFERENCES users (id),
+    amount      numeric(38, 2),
+    description varchar(255),
+    lender      varchar(255),
+    debt_date   date,
+    created_at  timestamp(6),
+    updated_at  timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+    id          uuid PRIMARY KEY,
+    user_id     uuid NOT NULL REFERENCES users (id),
+    amount      numeric(38, 2),
+    description varchar(255),
+    borrower    varchar(255),
+    loan_date   date,
+    created_at  timestamp(6),
+    updated_at  timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS insight (
+    id           uuid PRIMARY KEY,
+    user_id      uuid NOT NULL REFERENCES users (id),
+    label        varchar(255),
+    trend        varchar(255),
+    top_category varchar(255),
+    suggestions  text,
+    anomalies    text,
+    created_at   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS insight_job_runs (
+    id              uuid PRIMARY KEY,
+    status          varchar(255) NOT NULL,
+    last_user_id    uuid,
+    users_processed bigint NOT NULL,
+    failures        bigint NOT NULL,
+    p50millis       bigint NOT NULL,
+    p99millis       bigint NOT NULL,
+    wall_millis     bigint NOT NULL,
+    started_at      timestamp(6),
+    updated_at      timestamp(6),
+    finished_at     timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS expense_daily_rollups (
+    user_id       uuid NOT NULL,
+    expense_date  date NOT NULL,
+    total         numeric(38, 2) NOT NULL,
+    expense_count bigint NOT NULL,
+    PRIMARY KEY (user_id, expense_date)
+);
+
+CREATE TABLE IF NOT EXISTS expense_category_monthly_rollups (
+    user_id       uuid NOT NULL,
+    category      varchar(255) NOT NULL,
+    period_month  date NOT NULL,
+    total         numeric(38, 2) NOT NULL,
+    expense_count bigint NOT NULL,
+    PRIMARY KEY (user_id, category, period_month)
+);
@@ -0,0 +1,6 @@
+-- (user_id, date, id) serves per-user lists, keyset pages and date-range scans; amount is included so SUMs are index-only.
+
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date ON expenses (user_id, expense_date, id) INCLUDE (amount);
+CREATE INDEX IF NOT EXISTS idx_debts_user_date ON debts (user_id, debt_date, id) INCLUDE (amount);
+CREATE INDEX IF NOT EXISTS idx_loans_user_date ON loans (user_id, loan_date, id) INCLUDE (amount);
+CREATE INDEX IF NOT EXISTS idx_insight_user_created ON insight (user_id, created_at);
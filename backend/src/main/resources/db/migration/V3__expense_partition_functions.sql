@@ -0,0 +1,82 @@
+-- Optional monthly range partitioning of expenses (PostgreSQL only). Nothing is converted here; ExpensePartitionMaintainer
+-- calls these when application.expenses.partitioning.enabled is set.
+
+-- Creates the monthly partitions from the current month through months_ahead, moving any rows for those months out of
+-- the default partition first. A no-op while expenses is still a plain table.
+CREATE OR REPLACE FUNCTION create_expense_partitions(months_ahead integer) RETURNS integer AS $$
+DECLARE
+    month_start date;
+    partition_name text;
+    created integer := 0;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_class WHERE oid = 'expenses'::regclass AND relkind = 'p') THEN
+        RETURN 0;
+    END IF;
+    FOR i IN 0..months_ahead LOOP
+        month_start := (date_trunc('month', current_date) + make_interval(months => i))::date;
+        partition_name := 'expenses_' || to_char(month_start, 'YYYY_MM');
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+        EXECUTE format('CREATE TABLE %I (LIKE expenses INCLUDING DEFAULTS)', partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM expenses_default WHERE expense_date >= %L AND expense_date < %L RETURNING *) '
+                           || 'INSERT INTO %I SELECT * FROM moved',
+                       month_start, (month_start + interval '1 month')::date, partition_name);
+        EXECUTE format('ALTER TABLE expenses ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, month_start, (month_start + interval '1 month')::date);
+        created := created + 1;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Rebuilds expenses as a table range-partitioned by month of expense_date. Runs in the caller's transaction and holds an
+-- exclusive lock on expenses while rows are copied. Rows without a date land in the default partition, which is why the
+-- unique key is (id, expense_date) rather than a primary key.
+CREATE OR REPLACE FUNCTION partition_expenses_by_month() RETURNS boolean AS $$
+DECLARE
+    first_month date;
+    last_month date;
+    month_start date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = 'expenses'::regclass AND relkind = 'p') THEN
+        RETURN false;
+    END IF;
+
+    LOCK TABLE expenses IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE expenses RENAME TO expenses_unpartitioned;
+
+    CREATE TABLE expenses (
+        id           uuid NOT NULL,
+        user_id      uuid NOT NULL REFERENCES users (id),
+        amount       numeric(38, 2),
+        description  varchar(255),
+        category     varchar(255),
+        pay_method   varchar(255),
+        expense_date date,
+        created_at   timestamp(6),
+        updated_at   timestamp(6),
+        CONSTRAINT expenses_id_date_key UNIQUE (id, expense_date)
+    ) PARTITION BY RANGE (expense_date);
+    CREATE TABLE expenses_default PARTITION OF expenses DEFAULT;
+
+    SELECT date_trunc('month', min(expense_date))::date, date_trunc('month', max(expense_date))::date
+    INTO first_month, last_month
+    FROM expenses_unpartitioned;
+    month_start := first_month;
+    WHILE month_start IS NOT NULL AND month_start <= last_month AND month_start < date_trunc('month', current_date) LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF expenses FOR VALUES FROM (%L) TO (%L)',
+                       'expenses_' || to_char(month_start, 'YYYY_MM'), month_start,
+                       (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    PERFORM create_expense_partitions(greatest(0, (extract(year FROM age(last_month, date_trunc('month', current_date))) * 12
+        + extract(month FROM age(last_month, date_trunc('month', current_date))))::integer));
+
+    INSERT INTO expenses (id, user_id, amount, description, category, pay_method, expense_date, created_at, updated_at)
+    SELECT id, user_id, amount, description, category, pay_method, expense_date, created_at, updated_at
+    FROM expenses_unpartitioned;
+    DROP TABLE expenses_unpartitioned;
+
+    CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date, id) INCLUDE (amount);
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS data_versions (
+    user_id    uuid NOT NULL,
+    resource   varchar(255) NOT NULL,
+    version    bigint NOT NULL,
+    updated_at timestamp(6),
+    PRIMARY KEY (user_id, resource)
+);
+
+-- Expense data version the insight was computed from; null for insights created before versions existed.
+ALTER TABLE insight ADD COLUMN IF NOT EXISTS data_version bigint;
@@ -0,0 +1,61 @@
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS anomalous boolean NOT NULL DEFAULT false;
+ALTER TABLE expenses ADD COLUMN IF NOT EXISTS anomaly_score double precision;
+
+CREATE INDEX IF NOT EXISTS idx_expenses_user_anomalous ON expenses (user_id, expense_date DESC, id DESC) WHERE anomalous;
+
+CREATE TABLE IF NOT EXISTS expense_stats (
+    user_id              uuid NOT NULL,
+    category             varchar(255) NOT NULL,
+    sample_count         bigint NOT NULL,
+    mean                 double precision NOT NULL,
+    m2                   double precision NOT NULL,
+    median               double precision NOT NULL,
+    median_abs_deviation double precision NOT NULL,
+    updated_at           timestamp(6),
+    PRIMARY KEY (user_id, category)
+);
+
+-- Redefined from V3 to copy the column list from the existing table, so the anomaly columns (and any added later)
+-- survive a partition conversion.
+-- Rebuilds expenses as a table range-partitioned by month of expense_date. Runs in the caller's transaction and holds an
+-- exclusive lock on expenses while rows are copied. Rows without a date land in the default partition, which is why the
+-- unique key is (id, expense_date) rather than a primary key.
+CREATE OR REPLACE FUNCTION partition_expenses_by_month() RETURNS boolean AS $$
+DECLARE
+    first_month date;
+    last_month date;
+    month_start date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = 'expenses'::regclass AND relkind = 'p') THEN
+        RETURN false;
+    END IF;
+
+    LOCK TABLE expenses IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE expenses RENAME TO expenses_unpartitioned;
+
+    CREATE TABLE expenses (LIKE expenses_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (expense_date);
+    ALTER TABLE expenses ADD CONSTRAINT expenses_id_date_key UNIQUE (id, expense_date);
+    ALTER TABLE expenses ADD FOREIGN KEY (user_id) REFERENCES users (id);
+    CREATE TABLE expenses_default PARTITION OF expenses DEFAULT;
+
+    SELECT date_trunc('month', min(expense_date))::date, date_trunc('month', max(expense_date))::date
+    INTO first_month, last_month
+    FROM expenses_unpartitioned;
+    month_start := first_month;
+    WHILE month_start IS NOT NULL AND month_start <= last_month AND month_start < date_trunc('month', current_date) LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF expenses FOR VALUES FROM (%L) TO (%L)',
+                       'expenses_' || to_char(month_start, 'YYYY_MM'), month_start,
+                       (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    PERFORM create_expense_partitions(greatest(0, (extract(year FROM age(last_month, date_trunc('month', current_date))) * 12
+        + extract(month FROM age(last_month, date_trunc('month', current_date))))::integer));
+
+    INSERT INTO expenses SELECT * FROM expenses_unpartitioned;
+    DROP TABLE expenses_unpartitioned;
+
+    CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date, id) INCLUDE (amount);
+    CREATE INDEX idx_expenses_user_anomalous ON expenses (user_id, expense_date DESC, id DESC) WHERE anomalous;
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS counterparty_balances (
+    user_id      uuid NOT NULL,
+    counterparty varchar(255) NOT NULL,
+    owed         numeric(38, 2) NOT NULL,
+    lent         numeric(38, 2) NOT NULL,
+    net          numeric(38, 2) NOT NULL,
+    debt_count   bigint NOT NULL,
+    loan_count   bigint NOT NULL,
+    updated_at   timestamp(6),
+    PRIMARY KEY (user_id, counterparty)
+);
+
+-- Backfill from existing records; afterwards DebtService and LoanService keep the rows current.
+INSERT INTO counterparty_balances (user_id, counterparty, owed, lent, net, debt_count, loan_count, updated_at)
+SELECT user_id, counterparty, SUM(owed), SUM(lent), SUM(lent) - SUM(owed), SUM(debt_count), SUM(loan_count), now()
+FROM (
+    SELECT user_id, COALESCE(trim(lender), '') AS counterparty, COALESCE(amount, 0) AS owed, 0 AS lent,
+           1 AS debt_count, 0 AS loan_count
+    FROM debts
+    UNION ALL
+    SELECT user_id, COALESCE(trim(borrower), ''), 0, COALESCE(amount, 0), 0, 1
+    FROM loans
+) records
+GROUP BY user_id, counterparty
+ON CONFLICT (user_id, counterparty) DO NOTHING;
@@ -0,0 +1,23 @@
+-- Only a SHA-256 of each refresh token is stored. A family is the chain of tokens rotated from one password login.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id              uuid PRIMARY KEY,
+    user_id         uuid NOT NULL REFERENCES users (id),
+    family_id       uuid NOT NULL,
+    token_hash      varchar(64) NOT NULL UNIQUE,
+    access_token_id varchar(36) NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    expires_at      timestamp(6) NOT NULL,
+    revoked_at      timestamp(6),
+    replaced_by     uuid
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires ON refresh_tokens (expires_at);
+
+-- Access token ids revoked before their expiry; rows can be dropped once expires_at has passed.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   varchar(36) PRIMARY KEY,
+    expires_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires ON revoked_tokens (expires_at);
@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS expense_weekly_rollups (
+    user_id       uuid NOT NULL,
+    week_start    date NOT NULL,
+    total         numeric(38, 2) NOT NULL,
+    expense_count bigint NOT NULL,
+    PRIMARY KEY (user_id, week_start)
+);
+
+-- Backfill from the daily rollups; date_trunc('week') gives the ISO week's Monday, as ExpenseRollupService does.
+INSERT INTO expense_weekly_rollups (user_id, week_start, total, expense_count)
+SELECT user_id, date_trunc('week', expense_date)::date, SUM(total), SUM(expense_count)
+FROM expense_daily_rollups
+GROUP BY user_id, date_trunc('week', expense_date)::date
+ON CONFLICT (user_id, week_start) DO NOTHING;
@@ -0,0 +1,117 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.Insight;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.InsightRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.AnalyticsService;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.InsightEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepo;
+
+    @Mock
+    private InsightRepository insightRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private InsightEngine insightEngine;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    private UUID userId;
+    private Insight stored;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        stored = new Insight();
+        stored.setLabel("Saver");
+        stored.setTrend("stable");
+        stored.setTopCategory("Food");
+        stored.setSuggestions("[\"Keep it up\"]");
+        stored.setAnomalies("[]");
+        stored.setDataVersion(3L);
+        lenient().when(insightRepo.findFirstByUserIdOrderByCreatedAtDesc(userId)).thenReturn(Optional.of(stored));
+    }
+
+    @Test
+    @DisplayName("getInsight should return the stored insight while the expense version is unchanged")
+    void getInsight_Current() throws Exception {
+        when(dataVersionService.current(userId, DataResource.EXPENSES)).thenReturn(3L);
+
+        InsightResult result = analyticsService.getInsight(userId, false);
+
+        assertEquals("Saver", result.getLabel());
+        assertEquals(List.of("Keep it up"), result.getSuggestions());
+        verifyNoInteractions(insightEngine);
+        verify(insightRepo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getInsight should recompute and tag the new insight when expenses changed")
+    void getInsight_Stale() throws Exception {
+        when(dataVersionService.current(userId, DataResource.EXPENSES)).thenReturn(4L);
+        when(expenseRepo.findByUserId(userId)).thenReturn(List.of());
+        when(insightEngine.analyze(userId, List.of())).thenReturn(new InsightResult(userId.toString(), "Rent", "Spender", "increasing", List.of(), List.of()));
+        when(userRepo.getReferenceById(userId)).thenReturn(new User());
+
+        InsightResult result = analyticsService.getInsight(userId, false);
+
+        assertEquals("Spender", result.getLabel());
+        ArgumentCaptor<Insight> saved = ArgumentCaptor.forClass(Insight.class);
+        verify(insightRepo).save(saved.capture());
+        assertEquals(4L, saved.getValue().getDataVersion());
+    }
+
+    @Test
+    @DisplayName("getInsight should recompute when forced even if the stored insight is current")
+    void getInsight_Forced() throws Exception {
+        lenient().when(dataVersionService.current(userId, DataResource.EXPENSES)).thenReturn(3L);
+        when(expenseRepo.findByUserId(userId)).thenReturn(List.of());
+        when(insightEngine.analyze(userId, List.of())).thenReturn(new InsightResult());
+        when(userRepo.getReferenceById(userId)).thenReturn(new User());
+
+        analyticsService.getInsight(userId, true);
+
+        verify(insightEngine).analyze(userId, List.of());
+        verify(insightRepo, never()).findFirstByUserIdOrderByCreatedAtDesc(userId);
+    }
+}
@@ -0,0 +1,97 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.UserChangedEvent;
+import com.FinanceManager.backend.service.AuthCache;
+import com.FinanceManager.backend.service.CustomUserDetailsService;
+import com.FinanceManager.backend.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthCacheTest {
+
+    private CustomUserDetailsService userDetailsService;
+    private JwtUtil jwtUtil;
+    private AuthCache authCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", "8OPsktHrRkupT3lywWvs8cUfFlL5MqQPO33nWQt621A");
+        ReflectionTestUtils.setField(jwtUtil, "EXPIRATION", 60_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initKey");
+
+        userDetailsService = mock(CustomUserDetailsService.class);
+        authCache = new AuthCache(jwtUtil, userDetailsService);
+        ReflectionTestUtils.setField(authCache, "tokenMaxSize", 100L);
+        ReflectionTestUtils.setField(authCache, "userMaxSize", 100L);
+        ReflectionTestUtils.setField(authCache, "userTtl", 60_000L);
+        ReflectionTestUtils.invokeMethod(authCache, "init");
+    }
+
+    @Test
+    @DisplayName("verifiedUsername should verify a token once and serve repeats from the cache")
+    void verifiedUsername_ParsesOnce() {
+        String token = jwtUtil.generateToken("alice");
+
+        assertEquals("alice", authCache.verifiedUsername(token));
+        assertEquals("alice", authCache.verifiedUsername(token));
+
+        verify(jwtUtil, times(1)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("verifiedUsername should return null for a tampered token and not cache it")
+    void verifiedUsername_RejectsInvalidToken() {
+        String token = jwtUtil.generateToken("alice") + "x";
+
+        assertNull(authCache.verifiedUsername(token));
+        assertNull(authCache.verifiedUsername(token));
+
+        verify(jwtUtil, times(2)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("invalidateUser should drop the cached principal and its tokens")
+    void invalidateUser_ForcesReload() {
+        User user = new User();
+        user.setUsername("alice");
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user);
+        String token = jwtUtil.generateToken("alice");
+        authCache.verifiedUsername(token);
+
+        assertSame(user, authCache.userDetails("alice"));
+        assertSame(user, authCache.userDetails("alice"));
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+
+        authCache.invalidateUser("alice");
+
+        authCache.userDetails("alice");
+        authCache.verifiedUsername(token);
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+        verify(jwtUtil, times(2)).parseClaims(token);
+    }
+
+    @Test
+    @DisplayName("onUserChanged should drop the cached principal so the next request sees the stored change")
+    void onUserChanged_InvalidatesUser() {
+        User before = new User();
+        before.setUsername("alice");
+        before.setPasswordHash("old-hash");
+        User after = new User();
+        after.setUsername("alice");
+        after.setPasswordHash("new-hash");
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(before, after);
+
+        assertSame(before, authCache.userDetails("alice"));
+
+        authCache.onUserChanged(new UserChangedEvent("alice"));
+
+        assertSame(after, authCache.userDetails("alice"));
+    }
+}
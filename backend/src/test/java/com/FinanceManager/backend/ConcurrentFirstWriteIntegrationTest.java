@@ -0,0 +1,141 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.CounterpartyBalance;
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseDailyRollup;
+import com.FinanceManager.backend.entity.ExpenseStats;
+import com.FinanceManager.backend.entity.ExpenseWeeklyRollup;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ExpenseStatsRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.CounterpartyBalanceService;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.ExpenseAnomalyService;
+import com.FinanceManager.backend.service.ExpenseRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: every writer needs its own transaction, so the first writes for a key really do race.
+@SpringBootTest
+public class ConcurrentFirstWriteIntegrationTest {
+    private static final int WRITERS = 8;
+
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ExpenseAnomalyService expenseAnomalyService;
+
+    @Autowired
+    private ExpenseStatsRepository expenseStatsRepository;
+
+    @Autowired
+    private CounterpartyBalanceService counterpartyBalanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("concurrent-" + UUID.randomUUID());
+        user.setPasswordHash("hash");
+        userId = userRepository.saveAndFlush(user).getId();
+    }
+
+    @Test
+    @DisplayName("rollups should count every concurrent first write for the same day, week and category")
+    void rollups_ConcurrentFirstWrites() throws Exception {
+        LocalDate day = LocalDate.of(2025, 7, 16);
+
+        race(() -> expenseRollupService.apply(userId, day, "food", new BigDecimal("2.50"), 1));
+
+        List<ExpenseDailyRollup> daily = expenseRollupService.getDailyRollups(userId);
+        assertEquals(1, daily.size());
+        assertEquals(WRITERS, daily.get(0).getExpenseCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(daily.get(0).getTotal()));
+        List<ExpenseWeeklyRollup> weekly = expenseRollupService.getWeeklyRollups(userId);
+        assertEquals(1, weekly.size());
+        assertEquals(LocalDate.of(2025, 7, 14), weekly.get(0).getWeekStart());
+        assertEquals(WRITERS, weekly.get(0).getExpenseCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(weekly.get(0).getTotal()));
+        List<Object[]> monthly = expenseRollupService.getMonthlyTotals(userId);
+        assertEquals(1, monthly.size());
+        assertEquals(0, new BigDecimal("20.00").compareTo((BigDecimal) monthly.get(0)[1]));
+    }
+
+    @Test
+    @DisplayName("data versions should count every concurrent first bump for a user")
+    void dataVersions_ConcurrentFirstBumps() throws Exception {
+        race(() -> dataVersionService.bump(userId, DataResource.DEBTS));
+
+        assertEquals(WRITERS, dataVersionService.current(userId, DataResource.DEBTS));
+    }
+
+    @Test
+    @DisplayName("anomaly statistics should count every concurrent first expense in a new category")
+    void expenseStats_ConcurrentFirstWrites() throws Exception {
+        race(() -> {
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal("12.00"));
+            expense.setCategory("books");
+            expenseAnomalyService.score(userId, List.of(expense));
+        });
+
+        assertEquals(WRITERS, expenseStatsRepository.findById(new ExpenseStats.Key(userId, "books")).orElseThrow().getSampleCount());
+        assertEquals(WRITERS, expenseStatsRepository.findById(new ExpenseStats.Key(userId, ExpenseStats.ALL_CATEGORIES)).orElseThrow().getSampleCount());
+    }
+
+    @Test
+    @DisplayName("counterparty balances should count every concurrent first loan to a new borrower")
+    void counterpartyBalances_ConcurrentFirstWrites() throws Exception {
+        race(() -> counterpartyBalanceService.applyLoan(userId, "Sam", new BigDecimal("5.00"), 1));
+
+        List<CounterpartyBalance> balances = counterpartyBalanceService.getBalances(userId, "name", "asc", 10);
+        assertEquals(1, balances.size());
+        assertEquals(WRITERS, balances.get(0).getLoanCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(balances.get(0).getLent()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(balances.get(0).getNet()));
+    }
+
+    // Starts every writer at once and fails on the first writer that threw.
+    private static void race(Runnable write) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    write.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Debt;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser
+public class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("etaguser");
+        user.setPasswordHash("hash");
+        userId = userRepository.saveAndFlush(user).getId();
+    }
+
+    @Test
+    @DisplayName("GET /api/debts/user/{userId} - Answers 304 for a current ETag and 200 after a write")
+    void testDebtListRevalidation() throws Exception {
+        createDebt("250.00");
+
+        String etag = mockMvc.perform(get("/api/debts/user/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andExpect(jsonPath("$[0].userId", is(userId.toString())))
+                .andExpect(jsonPath("$[0].user").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/debts/user/" + userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        createDebt("75.00");
+
+        mockMvc.perform(get("/api/debts/user/" + userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/debts/user/{userId} - Serves CBOR when the client asks for it")
+    void testCborNegotiation() throws Exception {
+        createDebt("10.00");
+
+        mockMvc.perform(get("/api/debts/user/" + userId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @DisplayName("GET /api/debts/user/{userId} - Varies by Accept on both the 200 and the 304")
+    void testVaryByAccept() throws Exception {
+        createDebt("10.00");
+
+        String etag = mockMvc.perform(get("/api/debts/user/" + userId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/debts/user/" + userId).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT))));
+    }
+
+    private void createDebt(String amount) throws Exception {
+        Debt debt = new Debt();
+        debt.setAmount(new BigDecimal(amount));
+        debt.setLender("Bank");
+        debt.setDebtDate(LocalDate.of(2025, 7, 1));
+        mockMvc.perform(post("/api/debts/user/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(debt)))
+                .andExpect(status().isOk());
+    }
+}
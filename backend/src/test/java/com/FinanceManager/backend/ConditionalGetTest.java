@@ -0,0 +1,39 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.config.ReadWriteRoutingDataSource;
+import com.FinanceManager.backend.util.ConditionalGet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConditionalGetTest {
+
+    @Test
+    @DisplayName("respond should compute the body on the primary, where the tag was read")
+    void respond_ReadsBodyOnPrimary() {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+
+        ResponseEntity<Boolean> response = ConditionalGet.respond(request, "W/\"1\"", ReadWriteRoutingDataSource::isPrimaryForced);
+
+        assertNotNull(response);
+        assertTrue(response.getBody());
+        assertEquals("W/\"1\"", response.getHeaders().getETag());
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryForced());
+    }
+
+    @Test
+    @DisplayName("respond should not compute the body for a matching If-None-Match")
+    void respond_NotModifiedSkipsBody() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1\"");
+        ServletWebRequest request = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+
+        assertNull(ConditionalGet.respond(request, "W/\"1\"", () -> fail("body should not be read")));
+    }
+}
@@ -0,0 +1,99 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.CounterpartyBalance;
+import com.FinanceManager.backend.entity.NetExposure;
+import com.FinanceManager.backend.service.CounterpartyBalanceService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CounterpartyBalanceServiceTest {
+
+    @Autowired
+    private CounterpartyBalanceService counterpartyBalanceService;
+
+    private UUID userId;
+
+    // Bank: net -100, Sam: net 50, Alex: net 15.
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        counterpartyBalanceService.applyDebt(userId, "Bank", new BigDecimal("100.00"), 1);
+        counterpartyBalanceService.applyLoan(userId, "Sam", new BigDecimal("50.00"), 1);
+        counterpartyBalanceService.applyLoan(userId, " Alex ", new BigDecimal("20.00"), 1);
+        counterpartyBalanceService.applyDebt(userId, "Alex", new BigDecimal("5.00"), 1);
+    }
+
+    @Test
+    @DisplayName("applyDebt and applyLoan should keep one running row per trimmed counterparty")
+    void apply_AccumulatesPerCounterparty() {
+        CounterpartyBalance alex = counterpartyBalanceService.getBalances(userId, "name", "asc", 10).get(0);
+
+        assertEquals("Alex", alex.getCounterparty());
+        assertEquals(0, new BigDecimal("5.00").compareTo(alex.getOwed()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(alex.getLent()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(alex.getNet()));
+        assertEquals(1, alex.getDebtCount());
+        assertEquals(1, alex.getLoanCount());
+    }
+
+    @Test
+    @DisplayName("getBalances should sort by the requested column and direction")
+    void getBalances_SortsAndDirects() {
+        assertEquals(List.of("Sam", "Alex", "Bank"), names(counterpartyBalanceService.getBalances(userId, "net", "desc", 10)));
+        assertEquals(List.of("Bank", "Alex", "Sam"), names(counterpartyBalanceService.getBalances(userId, "net", "asc", 10)));
+        assertEquals(List.of("Alex", "Bank", "Sam"), names(counterpartyBalanceService.getBalances(userId, "name", "asc", 10)));
+        assertEquals(List.of("Bank", "Alex", "Sam"), names(counterpartyBalanceService.getBalances(userId, "OWED", "DESC", 10)));
+        assertEquals(List.of("Sam", "Alex", "Bank"), names(counterpartyBalanceService.getBalances(userId, "lent", "desc", 10)));
+    }
+
+    @Test
+    @DisplayName("getBalances should return at most limit counterparties")
+    void getBalances_Limit() {
+        assertEquals(List.of("Bank", "Alex"), names(counterpartyBalanceService.getBalances(userId, "net", "asc", 2)));
+    }
+
+    @Test
+    @DisplayName("getBalances should reject an unknown sort or direction")
+    void getBalances_InvalidSort() {
+        assertThrows(IllegalArgumentException.class, () -> counterpartyBalanceService.getBalances(userId, "amount", "asc", 10));
+        assertThrows(IllegalArgumentException.class, () -> counterpartyBalanceService.getBalances(userId, "net", "sideways", 10));
+    }
+
+    @Test
+    @DisplayName("removing a counterparty's last record should drop its row and its share of the exposure")
+    void apply_RemovalDropsEmptyRow() {
+        counterpartyBalanceService.applyDebt(userId, "Bank", new BigDecimal("-100.00"), -1);
+
+        assertEquals(List.of("Alex", "Sam"), names(counterpartyBalanceService.getBalances(userId, "name", "asc", 10)));
+        NetExposure exposure = counterpartyBalanceService.getExposure(userId);
+        assertEquals(0, new BigDecimal("5.00").compareTo(exposure.getOwed()));
+        assertEquals(0, new BigDecimal("70.00").compareTo(exposure.getLent()));
+        assertEquals(0, new BigDecimal("65.00").compareTo(exposure.getNet()));
+        assertEquals(2, exposure.getCounterparties());
+    }
+
+    @Test
+    @DisplayName("getExposure should be zero for a user without debts or loans")
+    void getExposure_Empty() {
+        NetExposure exposure = counterpartyBalanceService.getExposure(UUID.randomUUID());
+
+        assertEquals(BigDecimal.ZERO, exposure.getNet());
+        assertEquals(0, exposure.getCounterparties());
+    }
+
+    private static List<String> names(List<CounterpartyBalance> balances) {
+        return balances.stream().map(CounterpartyBalance::getCounterparty).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.config.ReadWriteRoutingDataSource;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.FinanceManager.backend.service.DashboardService;
+import com.FinanceManager.backend.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(dashboardService, "maxSize", 100L);
+        ReflectionTestUtils.setField(dashboardService, "ttl", 60_000L);
+        ReflectionTestUtils.invokeMethod(dashboardService, "init");
+    }
+
+    @Test
+    @DisplayName("getCurrentMonthExpenses should serve repeat reads from the cache")
+    void getCurrentMonthExpenses_CachesValue() {
+        when(expenseService.getCurrentMonthExpenses(userId)).thenReturn(new BigDecimal("42"));
+
+        assertEquals(new BigDecimal("42"), dashboardService.getCurrentMonthExpenses(userId));
+        assertEquals(new BigDecimal("42"), dashboardService.getCurrentMonthExpenses(userId));
+
+        verify(expenseService, times(1)).getCurrentMonthExpenses(userId);
+        assertEquals(1, dashboardService.stats().getHitCount());
+        assertEquals(1, dashboardService.stats().getMissCount());
+    }
+
+    @Test
+    @DisplayName("onExpenseChanged should only drop totals whose window contains the changed date")
+    void onExpenseChanged_InvalidatesAffectedTotals() {
+        when(expenseService.getCurrentMonthExpenses(userId)).thenReturn(BigDecimal.ONE, BigDecimal.TEN);
+        when(expenseService.getCurrentYearExpenses(userId)).thenReturn(BigDecimal.ONE);
+        dashboardService.getCurrentMonthExpenses(userId);
+        dashboardService.getCurrentYearExpenses(userId);
+
+        LocalDate lastYear = LocalDate.now().minusYears(1);
+        dashboardService.onExpenseChanged(ExpenseChangedEvent.of(userId, lastYear));
+        dashboardService.getCurrentMonthExpenses(userId);
+        dashboardService.getCurrentYearExpenses(userId);
+        verify(expenseService, times(1)).getCurrentMonthExpenses(userId);
+        verify(expenseService, times(1)).getCurrentYearExpenses(userId);
+
+        dashboardService.onExpenseChanged(ExpenseChangedEvent.of(userId, LocalDate.now()));
+        assertEquals(BigDecimal.TEN, dashboardService.getCurrentMonthExpenses(userId));
+        verify(expenseService, times(2)).getCurrentMonthExpenses(userId);
+    }
+
+    @Test
+    @DisplayName("a load that overlaps a committed write should not be cached")
+    void get_DoesNotCacheLoadRacingAWrite() {
+        when(expenseService.getCurrentWeekExpenses(userId)).thenAnswer(invocation -> {
+            dashboardService.onExpenseChanged(ExpenseChangedEvent.of(userId, LocalDate.now()));
+            return BigDecimal.ONE;
+        }).thenReturn(BigDecimal.TEN);
+
+        assertEquals(BigDecimal.ONE, dashboardService.getCurrentWeekExpenses(userId));
+        assertEquals(BigDecimal.TEN, dashboardService.getCurrentWeekExpenses(userId));
+        assertEquals(BigDecimal.TEN, dashboardService.getCurrentWeekExpenses(userId));
+        verify(expenseService, times(2)).getCurrentWeekExpenses(userId);
+    }
+
+    @Test
+    @DisplayName("cache loads should read from the primary, not a replica that may be behind")
+    void get_LoadsFromPrimary() {
+        when(expenseService.getCurrentYearExpenses(userId))
+                .thenAnswer(invocation -> ReadWriteRoutingDataSource.isPrimaryForced() ? BigDecimal.TEN : BigDecimal.ZERO);
+
+        assertEquals(BigDecimal.TEN, dashboardService.getCurrentYearExpenses(userId));
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryForced());
+    }
+}
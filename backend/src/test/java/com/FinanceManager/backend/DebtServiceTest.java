@@ -1,9 +1,13 @@
 package com.FinanceManager.backend;
 
+import com.FinanceManager.backend.entity.DataResource;
 import com.FinanceManager.backend.entity.Debt;
+import com.FinanceManager.backend.entity.DebtResponse;
 import com.FinanceManager.backend.entity.User;
 import com.FinanceManager.backend.repository.DebtRepository;
 import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.CounterpartyBalanceService;
+import com.FinanceManager.backend.service.DataVersionService;
 import com.FinanceManager.backend.service.DebtService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +38,12 @@ class DebtServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CounterpartyBalanceService counterpartyBalanceService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
     @InjectMocks
     private DebtService debtService;
 
@@ -63,7 +73,8 @@ class DebtServiceTest {
     @Test
     @DisplayName("createDebt should save and return debt when user exists")
     void createDebt_Success() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
         when(debtRepository.save(any(Debt.class))).thenReturn(testDebt);
 
         Debt newDebt = new Debt();
@@ -74,14 +85,17 @@ class DebtServiceTest {
         assertNotNull(createdDebt);
         assertEquals(testUser, createdDebt.getUser());
         assertEquals(new BigDecimal("1000.00"), createdDebt.getAmount());
-        verify(userRepository, times(1)).findById(userId);
+        assertEquals(testUser, newDebt.getUser());
+        verify(userRepository, never()).findById(any());
         verify(debtRepository, times(1)).save(newDebt);
+        verify(counterpartyBalanceService, times(1)).applyDebt(userId, "City Bank", new BigDecimal("1000.00"), 1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.DEBTS);
     }
 
     @Test
     @DisplayName("createDebt should throw EntityNotFoundException when user does not exist")
     void createDebt_UserNotFound() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> {
             debtService.createDebt(userId, new Debt());
@@ -92,14 +106,15 @@ class DebtServiceTest {
     @Test
     @DisplayName("getUserDebts should return a list of debts for a user")
     void getUserDebts_Success() {
-        when(debtRepository.findByUserId(userId)).thenReturn(Collections.singletonList(testDebt));
+        when(debtRepository.findResponsesByUserId(userId)).thenReturn(Collections.singletonList(DebtResponse.from(testDebt)));
 
-        List<Debt> debts = debtService.getUserDebts(userId);
+        List<DebtResponse> debts = debtService.getUserDebts(userId);
 
         assertNotNull(debts);
         assertEquals(1, debts.size());
-        assertEquals(testDebt, debts.get(0));
-        verify(debtRepository, times(1)).findByUserId(userId);
+        assertEquals(debtId, debts.get(0).getId());
+        assertEquals(userId, debts.get(0).getUserId());
+        verify(debtRepository, times(1)).findResponsesByUserId(userId);
     }
 
     @Test
@@ -122,6 +137,9 @@ class DebtServiceTest {
         assertEquals("New Lender", updatedDebt.getLender());
         verify(debtRepository, times(1)).findById(debtId);
         verify(debtRepository, times(1)).save(testDebt);
+        verify(counterpartyBalanceService, times(1)).applyDebt(userId, "City Bank", new BigDecimal("-1000.00"), -1);
+        verify(counterpartyBalanceService, times(1)).applyDebt(userId, "New Lender", new BigDecimal("1200.50"), 1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.DEBTS);
     }
 
     @Test
@@ -135,25 +153,26 @@ class DebtServiceTest {
     }
 
     @Test
-    @DisplayName("deleteDebt should call deleteById when debt exists")
+    @DisplayName("deleteDebt should delete the debt and take it out of the lender's balance")
     void deleteDebt_Success() {
-        when(debtRepository.existsById(debtId)).thenReturn(true);
-        doNothing().when(debtRepository).deleteById(debtId);
+        when(debtRepository.findById(debtId)).thenReturn(Optional.of(testDebt));
 
         debtService.deleteDebt(debtId);
 
-        verify(debtRepository, times(1)).existsById(debtId);
-        verify(debtRepository, times(1)).deleteById(debtId);
+        verify(debtRepository, times(1)).delete(testDebt);
+        verify(counterpartyBalanceService, times(1)).applyDebt(userId, "City Bank", new BigDecimal("-1000.00"), -1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.DEBTS);
     }
 
     @Test
     @DisplayName("deleteDebt should throw EntityNotFoundException when debt does not exist")
     void deleteDebt_NotFound() {
-        when(debtRepository.existsById(debtId)).thenReturn(false);
+        when(debtRepository.findById(debtId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> {
             debtService.deleteDebt(debtId);
         });
-        verify(debtRepository, never()).deleteById(any(UUID.class));
+        verify(debtRepository, never()).delete(any(Debt.class));
+        verifyNoInteractions(counterpartyBalanceService, dataVersionService);
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseStats;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ExpenseStatsRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExpenseService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class ExpenseAnomalyIntegrationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseStatsRepository expenseStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("anomalies");
+        user.setPasswordHash("hash");
+        userId = userRepository.saveAndFlush(user).getId();
+    }
+
+    @Test
+    @DisplayName("updateExpense into a category without statistics should count the edited expense once")
+    void updateExpense_IntoNewCategory_CountsOnce() {
+        expenseService.createExpense(userId, expense("10.00", "food"));
+        Expense moved = expenseService.createExpense(userId, expense("20.00", "food"));
+
+        expenseService.updateExpense(moved.getId(), expense("50.00", "travel"));
+
+        ExpenseStats travel = stats("travel");
+        assertEquals(1, travel.getSampleCount());
+        assertEquals(50, travel.getMean(), 1e-9);
+        assertEquals(0, travel.getM2(), 1e-9);
+        ExpenseStats food = stats("food");
+        assertEquals(1, food.getSampleCount());
+        assertEquals(10, food.getMean(), 1e-9);
+        ExpenseStats all = stats(ExpenseStats.ALL_CATEGORIES);
+        assertEquals(2, all.getSampleCount());
+        assertEquals(30, all.getMean(), 1e-9);
+    }
+
+    private ExpenseStats stats(String category) {
+        return expenseStatsRepository.findById(new ExpenseStats.Key(userId, category)).orElseThrow();
+    }
+
+    private Expense expense(String amount, String category) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory(category);
+        expense.setExpenseDate(LocalDate.of(2025, 7, 14));
+        return expense;
+    }
+}
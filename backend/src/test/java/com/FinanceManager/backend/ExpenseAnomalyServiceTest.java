@@ -0,0 +1,135 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseStats;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.ExpenseStatsRepository;
+import com.FinanceManager.backend.repository.Upserts;
+import com.FinanceManager.backend.service.ExpenseAnomalyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseAnomalyServiceTest {
+
+    @Mock
+    private ExpenseStatsRepository statsRepo;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private Upserts upserts;
+
+    @InjectMocks
+    private ExpenseAnomalyService expenseAnomalyService;
+
+    private final Map<String, ExpenseStats> stored = new HashMap<>();
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(expenseAnomalyService, "threshold", 3.5);
+        ReflectionTestUtils.setField(expenseAnomalyService, "minSamples", 10L);
+        lenient().when(upserts.insertIfAbsent(eq("expense_stats"), anyMap(), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> key = invocation.getArgument(1);
+            Map<String, Object> values = invocation.getArgument(2);
+            ExpenseStats stats = new ExpenseStats(userId, (String) key.get("category"));
+            stats.setSampleCount((Long) values.get("sample_count"));
+            stats.setMean((Double) values.get("mean"));
+            stats.setM2((Double) values.get("m2"));
+            stats.setMedian((Double) values.get("median"));
+            stats.setMedianAbsDeviation((Double) values.get("median_abs_deviation"));
+            return stored.putIfAbsent(stats.getCategory(), stats) == null;
+        });
+        when(statsRepo.findForUpdate(eq(userId), anyCollection())).thenAnswer(invocation -> new ArrayList<>(stored.values()));
+    }
+
+    @Test
+    @DisplayName("score should flag an outlier once the category has enough history")
+    void score_FlagsOutlier() {
+        for (int i = 0; i < 30; i++) {
+            expenseAnomalyService.score(userId, List.of(expense(String.valueOf(20 + i % 5), "food")));
+        }
+        Expense usual = expense("22", "food");
+        Expense outlier = expense("400", "food");
+
+        expenseAnomalyService.score(userId, List.of(usual, outlier));
+
+        assertFalse(usual.isAnomalous());
+        assertTrue(outlier.isAnomalous());
+        assertTrue(outlier.getAnomalyScore() > usual.getAnomalyScore());
+        assertEquals(32, stored.get("food").getSampleCount());
+        assertEquals(32, stored.get(ExpenseStats.ALL_CATEGORIES).getSampleCount());
+    }
+
+    @Test
+    @DisplayName("score should leave new users unscored until min-samples is reached")
+    void score_NotEnoughHistory() {
+        Expense first = expense("1000", "travel");
+
+        expenseAnomalyService.score(userId, List.of(first));
+
+        assertFalse(first.isAnomalous());
+        assertNull(first.getAnomalyScore());
+    }
+
+    @Test
+    @DisplayName("remove should take an amount back out of the mean and variance")
+    void remove_RevertsWelford() {
+        expenseAnomalyService.score(userId, List.of(expense("10", "food"), expense("20", "food")));
+        double mean = stored.get("food").getMean();
+        double m2 = stored.get("food").getM2();
+
+        expenseAnomalyService.score(userId, List.of(expense("90", "food")));
+        expenseAnomalyService.remove(userId, new BigDecimal("90"), "food");
+
+        assertEquals(2, stored.get("food").getSampleCount());
+        assertEquals(mean, stored.get("food").getMean(), 1e-9);
+        assertEquals(m2, stored.get("food").getM2(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("remove should take out an expense written before the statistics existed")
+    void remove_SeedsFromStoredExpenses() {
+        List<Object[]> history = new ArrayList<>();
+        history.add(new Object[]{"food", 3L, new BigDecimal("60"), new BigDecimal("1400")});
+        history.add(new Object[]{null, 1L, new BigDecimal("5"), new BigDecimal("25")});
+        when(expenseRepository.summarizeAmountsByCategory(userId)).thenReturn(history);
+
+        expenseAnomalyService.remove(userId, new BigDecimal("30"), "food");
+
+        ExpenseStats food = stored.get("food");
+        assertEquals(2, food.getSampleCount());
+        assertEquals(15, food.getMean(), 1e-9);
+        assertEquals(50, food.getM2(), 1e-9);
+        ExpenseStats all = stored.get(ExpenseStats.ALL_CATEGORIES);
+        assertEquals(3, all.getSampleCount());
+        assertEquals(35.0 / 3, all.getMean(), 1e-9);
+        assertFalse(stored.containsKey(""));
+    }
+
+    private Expense expense(String amount, String category) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory(category);
+        return expense;
+    }
+}
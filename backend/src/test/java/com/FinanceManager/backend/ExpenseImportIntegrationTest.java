@@ -0,0 +1,206 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseImportResult;
+import com.FinanceManager.backend.entity.ExportFormat;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.error.ExpenseImportAbortedException;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExpenseImportService;
+import com.FinanceManager.backend.service.ExpenseRollupService;
+import com.FinanceManager.backend.service.ExportService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class ExpenseImportIntegrationTest {
+
+    @Autowired
+    private ExpenseImportService expenseImportService;
+
+    @Autowired
+    private ExpenseRollupService expenseRollupService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("importer");
+        user.setPasswordHash("hash");
+        userId = userRepository.saveAndFlush(user).getId();
+    }
+
+    @Test
+    @DisplayName("importCsv should write valid rows, report bad lines and update rollups")
+    void importCsv_MixedRows() throws Exception {
+        String csv = """
+                expense_date,amount,description,category,pay_method
+                2025-07-14,10.50,"Lunch, with team",food,card
+                2025-07-14,not-a-number,Dinner,food,cash
+                2025-07-15,4.50,Bus,travel,
+                """;
+
+        ExpenseImportResult result = expenseImportService.importCsv(userId, stream(csv));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals(2, expenseRepository.findByUserId(userId).size());
+        assertEquals(0, new BigDecimal("15.00").compareTo(expenseRollupService.sumBetween(
+                userId, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 31))));
+    }
+
+    @Test
+    @DisplayName("importCsv should read quoted fields that span lines and report later rows by the line they start on")
+    void importCsv_MultiLineQuotedField() throws Exception {
+        String csv = """
+                expense_date,amount,description,category,pay_method
+                2025-07-14,10.50,"Lunch
+                with ""the"" team",food,card
+                2025-07-15,oops,Bus,travel,
+                """;
+
+        ExpenseImportResult result = expenseImportService.importCsv(userId, stream(csv));
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getErrors().get(0).getRow());
+        assertEquals("Lunch\nwith \"the\" team", expenseRepository.findByUserId(userId).get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("importCsv should re-import a CSV export, including descriptions with line breaks")
+    void importCsv_RoundTripsExport() throws Exception {
+        User source = new User();
+        source.setUsername("exporter");
+        source.setPasswordHash("hash");
+        source = userRepository.saveAndFlush(source);
+        Expense expense = new Expense();
+        expense.setUser(source);
+        expense.setAmount(new BigDecimal("42.00"));
+        expense.setDescription("Dinner\nsplit \"three\" ways, with tip");
+        expense.setCategory("food");
+        expense.setPayMethod("card");
+        expense.setExpenseDate(LocalDate.of(2025, 7, 14));
+        expenseRepository.saveAndFlush(expense);
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        exportService.exportExpenses(source.getId(), null, null, ExportFormat.CSV, exported);
+
+        ExpenseImportResult result = expenseImportService.importCsv(userId, new ByteArrayInputStream(exported.toByteArray()));
+
+        assertEquals(1, result.getImported());
+        assertEquals(0, result.getFailed());
+        Expense imported = expenseRepository.findByUserId(userId).get(0);
+        assertEquals(expense.getDescription(), imported.getDescription());
+        assertEquals(0, expense.getAmount().compareTo(imported.getAmount()));
+        assertEquals(expense.getExpenseDate(), imported.getExpenseDate());
+        assertEquals("card", imported.getPayMethod());
+    }
+
+    @Test
+    @DisplayName("importCsv should reject an over-long description on its own row and import the rest of the batch")
+    void importCsv_OverLongText() throws Exception {
+        String csv = "expense_date,amount,description\n" +
+                "2025-07-14,1.00,ok\n" +
+                "2025-07-14,2.00," + "x".repeat(256) + "\n" +
+                "2025-07-15,3.00,fine\n";
+
+        ExpenseImportResult result = expenseImportService.importCsv(userId, stream(csv));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("description is longer than 255 characters", result.getErrors().get(0).getMessage());
+        assertEquals(2, expenseRepository.findByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("importJson should stream an array of expenses and reject rows without a date")
+    void importJson_MissingDate() throws Exception {
+        String json = """
+                [
+                  {"amount": 20, "category": "food", "expenseDate": "2025-07-14"},
+                  {"amount": 5, "category": "food"}
+                ]
+                """;
+
+        ExpenseImportResult result = expenseImportService.importJson(userId, stream(json));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals("expenseDate is required", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("importJson should stop at a non-object element and report the rows imported before it")
+    void importJson_NonObjectElement() {
+        String json = """
+                [
+                  {"amount": 20, "category": "food", "expenseDate": "2025-07-14"},
+                  42,
+                  {"amount": 5, "category": "food", "expenseDate": "2025-07-15"}
+                ]
+                """;
+
+        ExpenseImportAbortedException e = assertThrows(ExpenseImportAbortedException.class,
+                () -> expenseImportService.importJson(userId, stream(json)));
+
+        assertEquals(2L, e.getResult().getAbortedAtRow());
+        assertEquals(1, e.getResult().getImported());
+        assertEquals(1, expenseRepository.findByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("importJson should report the row and committed count when the body is cut off mid-array")
+    void importJson_TruncatedBody() {
+        String json = """
+                [
+                  {"amount": 20, "category": "food", "expenseDate": "2025-07-14"},
+                  {"amount": 5, "category": "fo""";
+
+        ExpenseImportAbortedException e = assertThrows(ExpenseImportAbortedException.class,
+                () -> expenseImportService.importJson(userId, stream(json)));
+
+        assertEquals(2L, e.getResult().getAbortedAtRow());
+        assertEquals(1, e.getResult().getImported());
+        assertTrue(e.getResult().getErrors().get(0).getMessage().startsWith("malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("importCsv should reject a header without the required columns")
+    void importCsv_BadHeader() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseImportService.importCsv(userId, stream("description,category\nLunch,food\n")));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
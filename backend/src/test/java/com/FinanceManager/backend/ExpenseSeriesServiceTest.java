@@ -0,0 +1,96 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.ExpenseBucket;
+import com.FinanceManager.backend.entity.ExpenseSeries;
+import com.FinanceManager.backend.entity.SeriesDimension;
+import com.FinanceManager.backend.entity.SeriesGranularity;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.service.ExpenseSeriesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseSeriesServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @InjectMocks
+    private ExpenseSeriesService expenseSeriesService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(expenseSeriesService, "maxBuckets", 100);
+    }
+
+    @Test
+    @DisplayName("getSeries should zero-fill months in order and keep years apart")
+    void getSeries_MonthlyZeroFilled() {
+        LocalDate from = LocalDate.of(2024, 12, 15);
+        LocalDate to = LocalDate.of(2025, 2, 10);
+        when(expenseRepository.sumByBucket(userId, from, to, SeriesGranularity.MONTH, List.of())).thenReturn(List.of(
+                new ExpenseBucket(LocalDate.of(2025, 2, 1), List.of(), new BigDecimal("30")),
+                new ExpenseBucket(LocalDate.of(2024, 12, 1), List.of(), new BigDecimal("10"))
+        ));
+
+        ExpenseSeries result = expenseSeriesService.getSeries(userId, from, to, SeriesGranularity.MONTH, List.of());
+
+        assertEquals(1, result.getSeries().size());
+        List<ExpenseSeries.Point> points = result.getSeries().get(0).getPoints();
+        assertEquals(List.of("2024-12", "2025-01", "2025-02"), points.stream().map(ExpenseSeries.Point::getPeriod).toList());
+        assertEquals(0, new BigDecimal("10").compareTo(points.get(0).getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(points.get(1).getAmount()));
+        assertEquals(0, new BigDecimal("30").compareTo(points.get(2).getAmount()));
+        assertEquals(0, new BigDecimal("40").compareTo(result.getSeries().get(0).getTotal()));
+    }
+
+    @Test
+    @DisplayName("getSeries should fold daily buckets into ISO weeks per group")
+    void getSeries_WeeklyGroupedByCategory() {
+        LocalDate from = LocalDate.of(2025, 7, 14);
+        LocalDate to = LocalDate.of(2025, 7, 27);
+        List<SeriesDimension> groupBy = List.of(SeriesDimension.CATEGORY);
+        when(expenseRepository.sumByBucket(userId, from, to, SeriesGranularity.WEEK, groupBy)).thenReturn(List.of(
+                new ExpenseBucket(LocalDate.of(2025, 7, 14), List.of("food"), new BigDecimal("10")),
+                new ExpenseBucket(LocalDate.of(2025, 7, 16), List.of("food"), new BigDecimal("20")),
+                new ExpenseBucket(LocalDate.of(2025, 7, 21), List.of("travel"), new BigDecimal("50"))
+        ));
+
+        ExpenseSeries result = expenseSeriesService.getSeries(userId, from, to, SeriesGranularity.WEEK, groupBy);
+
+        assertEquals(2, result.getSeries().size());
+        ExpenseSeries.Series food = result.getSeries().get(0);
+        assertEquals(Map.of("category", "food"), food.getGroup());
+        assertEquals(List.of("2025-W29", "2025-W30"), food.getPoints().stream().map(ExpenseSeries.Point::getPeriod).toList());
+        assertEquals(0, new BigDecimal("30").compareTo(food.getPoints().get(0).getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(food.getPoints().get(1).getAmount()));
+        ExpenseSeries.Series travel = result.getSeries().get(1);
+        assertEquals(0, new BigDecimal("50").compareTo(travel.getPoints().get(1).getAmount()));
+    }
+
+    @Test
+    @DisplayName("getSeries should reject ranges with too many buckets")
+    void getSeries_TooManyBuckets() {
+        assertThrows(IllegalArgumentException.class, () -> expenseSeriesService.getSeries(
+                userId, LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1), SeriesGranularity.DAY, List.of()));
+        verify(expenseRepository, never()).sumByBucket(any(), any(), any(), any(), any());
+    }
+}
@@ -1,9 +1,16 @@
 package com.FinanceManager.backend;
 
+import com.FinanceManager.backend.entity.CursorPage;
 import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseChangedEvent;
+import com.FinanceManager.backend.entity.ExpenseWeeklyRollup;
+import com.FinanceManager.backend.entity.ExpenseResponse;
 import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.error.InvalidCursorException;
 import com.FinanceManager.backend.repository.ExpenseRepository;
 import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExpenseAnomalyService;
+import com.FinanceManager.backend.service.ExpenseRollupService;
 import com.FinanceManager.backend.service.ExpenseService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,6 +32,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +44,15 @@ class ExpenseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ExpenseAnomalyService expenseAnomalyService;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -65,7 +83,8 @@ class ExpenseServiceTest {
     @Test
     @DisplayName("createExpense should save and return expense when user exists")
     void createExpense_Success() {
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
         when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
 
         Expense newExpense = new Expense();
@@ -75,19 +94,24 @@ class ExpenseServiceTest {
         assertNotNull(createdExpense);
         assertEquals(testUser, createdExpense.getUser());
         assertEquals(new BigDecimal("99.99"), createdExpense.getAmount());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, never()).findById(any());
+        assertEquals(testUser, newExpense.getUser());
+        verify(expenseAnomalyService, times(1)).score(userId, List.of(newExpense));
         verify(expenseRepository, times(1)).save(newExpense);
+        verify(expenseRollupService, times(1)).add(userId, testExpense);
+        verify(eventPublisher, times(1)).publishEvent(any(ExpenseChangedEvent.class));
     }
 
     @Test
     @DisplayName("createExpense should throw EntityNotFoundException when user does not exist")
     void createExpense_UserNotFound() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> {
             expenseService.createExpense(userId, new Expense());
         });
         verify(expenseRepository, never()).save(any(Expense.class));
+        verify(expenseRollupService, never()).add(any(UUID.class), any(Expense.class));
     }
 
     @Test
@@ -111,6 +135,8 @@ class ExpenseServiceTest {
         assertEquals("Travel", updatedExpense.getCategory());
         verify(expenseRepository, times(1)).findById(expenseId);
         verify(expenseRepository, times(1)).save(testExpense);
+        verify(expenseRollupService, times(1)).remove(userId, testExpense);
+        verify(expenseRollupService, times(1)).add(userId, testExpense);
     }
 
     @Test
@@ -126,55 +152,50 @@ class ExpenseServiceTest {
     @Test
     @DisplayName("getUserExpenses should return a list of expenses for a user")
     void getUserExpenses_Success() {
-        when(expenseRepository.findByUserId(userId)).thenReturn(Arrays.asList(testExpense));
+        ExpenseResponse response = ExpenseResponse.from(testExpense);
+        when(expenseRepository.findResponsesByUserId(userId)).thenReturn(Arrays.asList(response));
 
-        List<Expense> expenses = expenseService.getUserExpenses(userId);
+        List<ExpenseResponse> expenses = expenseService.getUserExpenses(userId);
 
         assertNotNull(expenses);
         assertEquals(1, expenses.size());
-        assertEquals(testExpense, expenses.get(0));
-        verify(expenseRepository, times(1)).findByUserId(userId);
+        assertEquals(userId, expenses.get(0).getUserId());
+        verify(expenseRepository, times(1)).findResponsesByUserId(userId);
+        verify(expenseRepository, never()).findByUserId(any());
     }
 
     @Test
-    @DisplayName("deleteExpense should call deleteById when expense exists")
+    @DisplayName("deleteExpense should delete the expense and its rollup contribution when expense exists")
     void deleteExpense_Success() {
-        when(expenseRepository.existsById(expenseId)).thenReturn(true);
-        doNothing().when(expenseRepository).deleteById(expenseId);
+        when(expenseRepository.findById(expenseId)).thenReturn(Optional.of(testExpense));
+        doNothing().when(expenseRepository).delete(testExpense);
 
         expenseService.deleteExpense(expenseId);
 
-        verify(expenseRepository, times(1)).existsById(expenseId);
-        verify(expenseRepository, times(1)).deleteById(expenseId);
+        verify(expenseRepository, times(1)).findById(expenseId);
+        verify(expenseRollupService, times(1)).remove(userId, testExpense);
+        verify(expenseRepository, times(1)).delete(testExpense);
     }
 
     @Test
     @DisplayName("deleteExpense should throw EntityNotFoundException when expense does not exist")
     void deleteExpense_NotFound() {
-        when(expenseRepository.existsById(expenseId)).thenReturn(false);
+        when(expenseRepository.findById(expenseId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> {
             expenseService.deleteExpense(expenseId);
         });
-        verify(expenseRepository, never()).deleteById(any(UUID.class));
+        verify(expenseRepository, never()).delete(any(Expense.class));
+        verify(expenseRollupService, never()).remove(any(UUID.class), any(Expense.class));
     }
 
     @Test
-    @DisplayName("getWeeklyBreakdown should group expenses by week correctly")
+    @DisplayName("getWeeklyBreakdown should label each weekly rollup with its Monday to Sunday range")
     void getWeeklyBreakdown_Success() {
-        Expense expense1 = new Expense();
-        expense1.setExpenseDate(LocalDate.of(2025, 7, 14));
-        expense1.setAmount(new BigDecimal("10"));
+        ExpenseWeeklyRollup week1 = new ExpenseWeeklyRollup(userId, LocalDate.of(2025, 7, 14), new BigDecimal("30"), 3);
+        ExpenseWeeklyRollup week2 = new ExpenseWeeklyRollup(userId, LocalDate.of(2025, 7, 21), new BigDecimal("50"), 1);
 
-        Expense expense2 = new Expense(); // Wednesday
-        expense2.setExpenseDate(LocalDate.of(2025, 7, 16));
-        expense2.setAmount(new BigDecimal("20"));
-
-        Expense expense3 = new Expense(); // Next Monday
-        expense3.setExpenseDate(LocalDate.of(2025, 7, 21));
-        expense3.setAmount(new BigDecimal("50"));
-
-        when(expenseRepository.findByUserId(userId)).thenReturn(Arrays.asList(expense1, expense2, expense3));
+        when(expenseRollupService.getWeeklyRollups(userId)).thenReturn(Arrays.asList(week1, week2));
 
         Map<String, BigDecimal> weeklyBreakdown = expenseService.getWeeklyBreakdown(userId);
 
@@ -184,4 +205,76 @@ class ExpenseServiceTest {
         assertEquals(0, new BigDecimal("30").compareTo(weeklyBreakdown.get("Jul 14 – Jul 20")));
         assertEquals(0, new BigDecimal("50").compareTo(weeklyBreakdown.get("Jul 21 – Jul 27")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getMonthlyBreakdown should merge monthly rollup totals by month name")
+    void getMonthlyBreakdown_Success() {
+        List<Object[]> monthlyTotals = Arrays.asList(
+                new Object[]{LocalDate.of(2024, 3, 1), new BigDecimal("40")},
+                new Object[]{LocalDate.of(2025, 3, 1), new BigDecimal("60")},
+                new Object[]{LocalDate.of(2025, 4, 1), new BigDecimal("25")}
+        );
+        when(expenseRollupService.getMonthlyTotals(userId)).thenReturn(monthlyTotals);
+
+        Map<String, BigDecimal> monthlyBreakdown = expenseService.getMonthlyBreakdown(userId);
+
+        assertEquals(2, monthlyBreakdown.size());
+        assertEquals(0, new BigDecimal("100").compareTo(monthlyBreakdown.get("MAR")));
+        assertEquals(0, new BigDecimal("25").compareTo(monthlyBreakdown.get("APR")));
+    }
+
+    @Test
+    @DisplayName("getUserExpensesPage should return a cursor that resumes after the last item")
+    void getUserExpensesPage_KeysetCursor() {
+        ExpenseResponse newest = response(LocalDate.of(2025, 7, 20));
+        ExpenseResponse older = response(LocalDate.of(2025, 7, 18));
+        when(expenseRepository.findPageByUserId(eq(userId), any())).thenReturn(List.of(newest, older));
+
+        CursorPage<ExpenseResponse> first = expenseService.getUserExpensesPage(userId, null, 1);
+
+        assertEquals(List.of(newest), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        when(expenseRepository.findPageByUserIdAfter(eq(userId), eq(newest.getExpenseDate()), eq(newest.getId()), any()))
+                .thenReturn(List.of(older));
+
+        CursorPage<ExpenseResponse> second = expenseService.getUserExpensesPage(userId, first.getNextCursor(), 1);
+
+        assertEquals(List.of(older), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("getUserExpensesPage should page expenses without a date after the dated ones")
+    void getUserExpensesPage_UndatedLast() {
+        ExpenseResponse dated = response(LocalDate.of(2025, 7, 20));
+        ExpenseResponse undated = response(null);
+        ExpenseResponse olderUndated = response(null);
+        when(expenseRepository.findPageByUserId(eq(userId), any())).thenReturn(List.of(dated));
+        when(expenseRepository.findUndatedPageByUserId(eq(userId), any())).thenReturn(List.of(undated, olderUndated));
+
+        CursorPage<ExpenseResponse> first = expenseService.getUserExpensesPage(userId, null, 2);
+
+        assertEquals(List.of(dated, undated), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        when(expenseRepository.findUndatedPageByUserIdAfter(eq(userId), eq(undated.getId()), any())).thenReturn(List.of(olderUndated));
+
+        CursorPage<ExpenseResponse> second = expenseService.getUserExpensesPage(userId, first.getNextCursor(), 2);
+
+        assertEquals(List.of(olderUndated), second.getItems());
+        assertNull(second.getNextCursor());
+        verify(expenseRepository, never()).findPageByUserIdAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getUserExpensesPage should reject a malformed cursor")
+    void getUserExpensesPage_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> expenseService.getUserExpensesPage(userId, "not-a-cursor", 10));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    private ExpenseResponse response(LocalDate date) {
+        return new ExpenseResponse(UUID.randomUUID(), userId, BigDecimal.TEN, null, null, null, date, false, null, null, null);
+    }
+}
@@ -0,0 +1,113 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExportFormat;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ExpenseRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExportService;
+import jakarta.transaction.Transactional;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class ExportIntegrationTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("exporter");
+        user.setPasswordHash("hash");
+        user = userRepository.saveAndFlush(user);
+        userId = user.getId();
+
+        expenseRepository.save(expense(user, "2025-06-30", "99.00", "Outside range"));
+        expenseRepository.save(expense(user, "2025-07-02", "12.50", "Lunch, with team"));
+        expenseRepository.save(expense(user, "2025-07-01", "3.00", "Coffee"));
+        expenseRepository.flush();
+    }
+
+    @Test
+    @DisplayName("exportExpenses should write a date-filtered CSV in date order")
+    void exportExpenses_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportExpenses(userId, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 31), ExportFormat.CSV, out);
+
+        assertEquals("Date,Amount,Description,Category,Pay Method\r\n" +
+                "2025-07-01,3.00,Coffee,food,card\r\n" +
+                "2025-07-02,12.50,\"Lunch, with team\",food,card\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("exportExpenses without a date range should include undated expenses, after the dated ones")
+    void exportExpenses_NoRangeIncludesUndated() throws Exception {
+        Expense undated = expense(userRepository.getReferenceById(userId), "2025-07-03", "7.25", "Receipt lost");
+        undated.setExpenseDate(null);
+        expenseRepository.saveAndFlush(undated);
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream july = new ByteArrayOutputStream();
+
+        exportService.exportExpenses(userId, null, null, ExportFormat.CSV, all);
+        exportService.exportExpenses(userId, LocalDate.of(2025, 7, 1), null, ExportFormat.CSV, july);
+
+        assertEquals("Date,Amount,Description,Category,Pay Method\r\n" +
+                "2025-06-30,99.00,Outside range,food,card\r\n" +
+                "2025-07-01,3.00,Coffee,food,card\r\n" +
+                "2025-07-02,12.50,\"Lunch, with team\",food,card\r\n" +
+                ",7.25,Receipt lost,food,card\r\n", all.toString(StandardCharsets.UTF_8));
+        assertFalse(july.toString(StandardCharsets.UTF_8).contains("Receipt lost"));
+    }
+
+    @Test
+    @DisplayName("exportExpenses should write an XLSX sheet with a header row")
+    void exportExpenses_Xlsx() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportExpenses(userId, null, null, ExportFormat.XLSX, out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Expenses");
+            assertEquals("Amount", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(3, sheet.getLastRowNum());
+            assertEquals(99.0, sheet.getRow(1).getCell(1).getNumericCellValue());
+        }
+    }
+
+    private Expense expense(User user, String date, String amount, String description) {
+        Expense expense = new Expense();
+        expense.setUser(user);
+        expense.setExpenseDate(LocalDate.parse(date));
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription(description);
+        expense.setCategory("food");
+        expense.setPayMethod("card");
+        return expense;
+    }
+}
@@ -0,0 +1,112 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.InsightJob;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.error.AnalyticsUnavailableException;
+import com.FinanceManager.backend.service.AnalyticsService;
+import com.FinanceManager.backend.service.InsightJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InsightJobServiceTest {
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private InsightJobService insightJobService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(insightJobService, "threads", 1);
+        ReflectionTestUtils.setField(insightJobService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(insightJobService, "retention", 60000L);
+        ReflectionTestUtils.invokeMethod(insightJobService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        ReflectionTestUtils.invokeMethod(insightJobService, "shutdown");
+    }
+
+    @Test
+    @DisplayName("submit should reuse the running job for the same user and record the result")
+    void submit_DeduplicatesPerUser() throws Exception {
+        UUID userId = UUID.randomUUID();
+        InsightResult result = new InsightResult(userId.toString(), "Food", "Saver", "stable", null, null);
+        when(analyticsService.getInsight(userId, false)).thenAnswer(invocation -> {
+            release.await();
+            return result;
+        });
+
+        InsightJob first = insightJobService.submit(userId, false);
+        InsightJob second = insightJobService.submit(userId, false);
+        assertSame(first, second);
+
+        release.countDown();
+        InsightJob done = insightJobService.completion(first.getId()).get(5, TimeUnit.SECONDS);
+        assertEquals(InsightJob.Status.SUCCEEDED, done.getStatus());
+        assertSame(result, done.getResult());
+        assertNotNull(done.getFinishedAt());
+        assertEquals(1, insightJobService.stats().getDeduplicated());
+        verify(analyticsService, times(1)).getInsight(userId, false);
+
+        assertNotSame(first, insightJobService.submit(userId, false));
+    }
+
+    @Test
+    @DisplayName("submit should reject jobs once the queue is full")
+    void submit_QueueFull() throws Exception {
+        when(analyticsService.getInsight(any(), eq(false))).thenAnswer(invocation -> {
+            release.await();
+            return new InsightResult();
+        });
+
+        insightJobService.submit(UUID.randomUUID(), false);
+        awaitRunning();
+        insightJobService.submit(UUID.randomUUID(), false);
+
+        assertThrows(AnalyticsUnavailableException.class, () -> insightJobService.submit(UUID.randomUUID(), false));
+        assertEquals(1, insightJobService.stats().getQueued());
+        assertEquals(1, insightJobService.stats().getRejected());
+    }
+
+    @Test
+    @DisplayName("a failing engine should mark the job failed with its message")
+    void run_EngineFailure() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(analyticsService.getInsight(userId, false)).thenThrow(new IOException("engine crashed"));
+
+        InsightJob job = insightJobService.submitAndAwait(userId, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals(InsightJob.Status.FAILED, job.getStatus());
+        assertEquals("engine crashed", job.getError());
+        assertEquals(1, insightJobService.stats().getFailed());
+    }
+
+    private void awaitRunning() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (insightJobService.stats().getRunning() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
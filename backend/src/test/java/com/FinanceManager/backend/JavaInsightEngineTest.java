@@ -0,0 +1,143 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.InsightResult;
+import com.FinanceManager.backend.service.JavaInsightEngine;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JavaInsightEngineTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2d3e-4a5b-4c6d-8e7f-9a0b1c2d3e4f");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JavaInsightEngine engine = new JavaInsightEngine();
+
+    private static final String SCRIPT = "ml/analyze_user.py";
+
+    // Each fixture holds the JSON the analytics script reads on stdin and the JSON it prints for it
+    // (regenerate with ml/regenerate_insight_fixtures.py).
+    @ParameterizedTest
+    @ValueSource(strings = {"saver-increasing", "spender-decreasing", "balanced-frequent", "empty"})
+    @DisplayName("analyze should match the Python analytics script output")
+    void analyze_MatchesScriptOutput(String fixture) throws Exception {
+        JsonNode root;
+        try (InputStream in = getClass().getResourceAsStream("/insights/" + fixture + ".json")) {
+            root = objectMapper.readTree(in);
+        }
+
+        List<Expense> expenses = new ArrayList<>();
+        for (JsonNode row : root.get("input")) {
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal(row.get("amount").asText()));
+            expense.setDescription(row.get("description").asText());
+            expense.setCategory(row.get("category").asText());
+            expense.setPayMethod(row.get("pay_method").asText());
+            expense.setExpenseDate(LocalDate.parse(row.get("expense_date").asText()));
+            expenses.add(expense);
+        }
+
+        InsightResult result = engine.analyze(USER_ID, expenses);
+
+        Map<String, Object> expected = objectMapper.convertValue(root.get("expected"), new TypeReference<>() {});
+        Map<String, Object> actual = objectMapper.convertValue(result, new TypeReference<>() {});
+        assertEquals(expected, actual);
+    }
+
+    // Keeps the fixtures honest: wherever pandas and scikit-learn are installed, the script itself must print "expected".
+    @ParameterizedTest
+    @ValueSource(strings = {"saver-increasing", "spender-decreasing", "balanced-frequent", "empty"})
+    @DisplayName("each fixture's expected output should be what the Python script prints for its input")
+    void fixtures_MatchScriptOutput(String fixture) throws Exception {
+        assumeTrue(scriptDependenciesInstalled(), "python3 with pandas and scikit-learn is not installed");
+        JsonNode root;
+        try (InputStream in = getClass().getResourceAsStream("/insights/" + fixture + ".json")) {
+            root = objectMapper.readTree(in);
+        }
+
+        Process process = new ProcessBuilder("python3", SCRIPT).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        try (OutputStream stdin = process.getOutputStream()) {
+            objectMapper.writeValue(stdin, root.get("input"));
+        }
+        JsonNode printed;
+        try (InputStream stdout = process.getInputStream()) {
+            printed = objectMapper.readTree(stdout);
+        }
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue());
+
+        assertEquals(root.get("expected"), printed);
+    }
+
+    // The script raises on a NaN amount (IsolationForest rejects it) and keeps undated rows in its label and
+    // category statistics; the engine leaves rows without an amount or a date out of every statistic instead.
+    @Test
+    @DisplayName("analyze should leave rows without an amount or a date out of every statistic")
+    void analyze_DropsRowsWithoutAmountOrDate() {
+        List<Expense> expenses = new ArrayList<>();
+        for (int month = 1; month <= 3; month++) {
+            expenses.add(expense("500", "food", "upi", LocalDate.of(2025, month, 1)));
+        }
+        expenses.add(expense(null, "entertainment", "cash", LocalDate.of(2025, 3, 2)));
+        expenses.add(expense("90000", "entertainment", "cash", null));
+
+        InsightResult result = engine.analyze(USER_ID, expenses);
+
+        assertEquals("Saver", result.getLabel());
+        assertEquals("food", result.getTopCategory());
+        assertEquals("Your expenses are stable.", result.getTrend());
+    }
+
+    // With no essentials the script's ratio is NaN, so every comparison on it is false and the user is "Balanced";
+    // the engine treats the ratio as 0, which is what the rules describe.
+    @Test
+    @DisplayName("analyze should treat a user with no essential spending as having an essentials ratio of 0")
+    void analyze_NoEssentials() {
+        List<Expense> expenses = new ArrayList<>();
+        for (int month = 1; month <= 3; month++) {
+            expenses.add(expense("25000", "entertainment", "card", LocalDate.of(2025, month, 1)));
+        }
+
+        InsightResult result = engine.analyze(USER_ID, expenses);
+
+        assertEquals("Spender", result.getLabel());
+        assertTrue(result.getSuggestions().contains(
+                "Over half of your spending goes to non-essentials. Consider prioritizing savings or reducing discretionary purchases."));
+    }
+
+    private static Expense expense(String amount, String category, String payMethod, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setAmount(amount == null ? null : new BigDecimal(amount));
+        expense.setCategory(category);
+        expense.setPayMethod(payMethod);
+        expense.setExpenseDate(date);
+        return expense;
+    }
+
+    private static boolean scriptDependenciesInstalled() throws InterruptedException {
+        try {
+            return new ProcessBuilder("python3", "-c", "import pandas, sklearn").start().waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.util.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("percentile should stay within one log bucket of the true value across a ten-minute range")
+    void percentile_WithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram(TimeUnit.MINUTES.toMillis(10));
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis);
+        }
+        histogram.record(TimeUnit.HOURS.toMillis(1));
+
+        assertTrue(histogram.bucketCount() < 300);
+        assertEquals(1001, histogram.count());
+        long p50 = histogram.percentile(0.50);
+        assertTrue(p50 >= 501 && p50 <= 501 * 1.07, "p50 was " + p50);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 991 && p99 <= 991 * 1.07, "p99 was " + p99);
+        assertEquals(TimeUnit.MINUTES.toMillis(10), histogram.percentile(1.0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.DataResource;
+import com.FinanceManager.backend.entity.Loan;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.LoanRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.CounterpartyBalanceService;
+import com.FinanceManager.backend.service.DataVersionService;
+import com.FinanceManager.backend.service.LoanService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CounterpartyBalanceService counterpartyBalanceService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @InjectMocks
+    private LoanService loanService;
+
+    private User testUser;
+    private Loan testLoan;
+    private UUID userId;
+    private UUID loanId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        loanId = UUID.randomUUID();
+
+        testUser = new User();
+        testUser.setId(userId);
+        testUser.setUsername("testuser");
+
+        testLoan = new Loan();
+        testLoan.setId(loanId);
+        testLoan.setUser(testUser);
+        testLoan.setAmount(new BigDecimal("250.00"));
+        testLoan.setDescription("Concert tickets");
+        testLoan.setBorrower("Sam");
+        testLoan.setLoanDate(LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("createLoan should add the loan to the borrower's balance")
+    void createLoan_Success() {
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(testUser);
+        when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
+
+        Loan created = loanService.createLoan(userId, new Loan());
+
+        assertSame(testLoan, created);
+        verify(counterpartyBalanceService, times(1)).applyLoan(userId, "Sam", new BigDecimal("250.00"), 1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.LOANS);
+    }
+
+    @Test
+    @DisplayName("createLoan should throw EntityNotFoundException when user does not exist")
+    void createLoan_UserNotFound() {
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> loanService.createLoan(userId, new Loan()));
+        verify(loanRepository, never()).save(any(Loan.class));
+        verifyNoInteractions(counterpartyBalanceService, dataVersionService);
+    }
+
+    @Test
+    @DisplayName("updateLoan should move the amount from the old borrower's balance to the new one")
+    void updateLoan_Success() {
+        Loan loanDetails = new Loan();
+        loanDetails.setAmount(new BigDecimal("300.00"));
+        loanDetails.setBorrower("Alex");
+        loanDetails.setLoanDate(LocalDate.now().minusDays(2));
+
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(testLoan));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Loan updated = loanService.updateLoan(loanId, loanDetails);
+
+        assertEquals("Alex", updated.getBorrower());
+        assertEquals(new BigDecimal("300.00"), updated.getAmount());
+        verify(counterpartyBalanceService, times(1)).applyLoan(userId, "Sam", new BigDecimal("-250.00"), -1);
+        verify(counterpartyBalanceService, times(1)).applyLoan(userId, "Alex", new BigDecimal("300.00"), 1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.LOANS);
+    }
+
+    @Test
+    @DisplayName("deleteLoan should delete the loan and take it out of the borrower's balance")
+    void deleteLoan_Success() {
+        when(loanRepository.findById(loanId)).thenReturn(Optional.of(testLoan));
+
+        loanService.deleteLoan(loanId);
+
+        verify(loanRepository, times(1)).delete(testLoan);
+        verify(counterpartyBalanceService, times(1)).applyLoan(userId, "Sam", new BigDecimal("-250.00"), -1);
+        verify(dataVersionService, times(1)).bump(userId, DataResource.LOANS);
+    }
+
+    @Test
+    @DisplayName("deleteLoan should throw EntityNotFoundException when loan does not exist")
+    void deleteLoan_NotFound() {
+        when(loanRepository.findById(loanId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> loanService.deleteLoan(loanId));
+        verify(loanRepository, never()).delete(any(Loan.class));
+        verifyNoInteractions(counterpartyBalanceService, dataVersionService);
+    }
+}
@@ -0,0 +1,83 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.RegisterUserRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+public class MetricsIntegrationTest {
+    private static final String[] OPS_STATS = {"/api/analytics/insights/jobs/stats", "/api/analytics/limits/stats",
+            "/api/analytics/cache/stats", "/api/analytics/batch/runs"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Serves service, endpoint and job metrics without a token")
+    void testPrometheusScrape() throws Exception {
+        RegisterUserRequest registerRequest = new RegisterUserRequest();
+        registerRequest.setUsername("metricsuser");
+        registerRequest.setPassword("password123");
+        mockMvc.perform(post("/api/user/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("service_method_seconds_count{class=\"com.FinanceManager.backend.service.UserService\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("insight_jobs_queued")))
+                .andExpect(content().string(containsString("insight_batch_running")));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/health - Is reachable without a token")
+    void testHealthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "someone")
+    @DisplayName("GET /api/analytics stats endpoints - Forbidden for an account that is not in ops allowed-users")
+    void testOpsStatsForbiddenForNormalUser() throws Exception {
+        for (String path : OPS_STATS) {
+            mockMvc.perform(get(path)).andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "operator")
+    @DisplayName("GET /api/analytics stats endpoints - Allowed for an account in ops allowed-users")
+    void testOpsStatsAllowedUser() throws Exception {
+        for (String path : OPS_STATS) {
+            mockMvc.perform(get(path)).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/analytics/limits/stats"))
+                .andExpect(jsonPath("$.enabled").exists());
+    }
+}
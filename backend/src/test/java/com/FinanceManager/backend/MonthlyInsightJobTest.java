@@ -0,0 +1,143 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.InsightJobRun;
+import com.FinanceManager.backend.repository.InsightJobRunRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.AnalyticsService;
+import com.FinanceManager.backend.service.MonthlyInsightJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyInsightJobTest {
+
+    private static final UUID FIRST_USER = new UUID(0L, 0L);
+    private static final UUID USER_A = new UUID(0L, 1L);
+    private static final UUID USER_B = new UUID(0L, 2L);
+    private static final UUID USER_C = new UUID(0L, 3L);
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private InsightJobRunRepository runRepo;
+
+    @InjectMocks
+    private MonthlyInsightJob monthlyInsightJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(monthlyInsightJob, "pageSize", 2);
+        ReflectionTestUtils.setField(monthlyInsightJob, "parallelism", 2);
+        lenient().when(runRepo.save(any(InsightJobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("run should checkpoint after each page and resume from that checkpoint after a crash")
+    void run_ResumesFromCheckpoint() throws Exception {
+        when(runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)).thenReturn(List.of());
+        when(userRepo.findIdsAfter(eq(FIRST_USER), any(Pageable.class))).thenReturn(List.of(USER_A, USER_B));
+        when(userRepo.findIdsAfter(eq(USER_B), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("database went away"))
+                .thenReturn(List.of(USER_C));
+        when(userRepo.findIdsAfter(eq(USER_C), any(Pageable.class))).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> monthlyInsightJob.run());
+        InsightJobRun interrupted = monthlyInsightJob.currentRun().orElseThrow();
+        assertEquals(InsightJobRun.Status.RUNNING, interrupted.getStatus());
+        assertEquals(USER_B, interrupted.getLastUserId());
+        assertEquals(2, interrupted.getUsersProcessed());
+
+        when(runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)).thenReturn(List.of(interrupted));
+        InsightJobRun finished = monthlyInsightJob.run().orElseThrow();
+
+        assertSame(interrupted, finished);
+        assertEquals(InsightJobRun.Status.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getUsersProcessed());
+        verify(analyticsService, times(1)).getInsight(USER_A, false);
+        verify(analyticsService, times(1)).getInsight(USER_B, false);
+        verify(analyticsService, times(1)).getInsight(USER_C, false);
+    }
+
+    @Test
+    @DisplayName("resumeOnStartup should continue this month's interrupted run after its last checkpoint")
+    void resumeOnStartup_ContinuesAfterLastUser() throws Exception {
+        InsightJobRun interrupted = new InsightJobRun();
+        interrupted.setId(UUID.randomUUID());
+        interrupted.setStartedAt(LocalDateTime.now());
+        interrupted.setLastUserId(USER_B);
+        interrupted.setUsersProcessed(2);
+        when(runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)).thenReturn(List.of(interrupted));
+        when(userRepo.findIdsAfter(eq(USER_B), any(Pageable.class))).thenReturn(List.of(USER_C));
+        when(userRepo.findIdsAfter(eq(USER_C), any(Pageable.class))).thenReturn(List.of());
+
+        monthlyInsightJob.resumeOnStartup();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (interrupted.getStatus() != InsightJobRun.Status.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(InsightJobRun.Status.COMPLETED, interrupted.getStatus());
+        assertEquals(3, interrupted.getUsersProcessed());
+        assertEquals(USER_C, interrupted.getLastUserId());
+        verify(userRepo, never()).findIdsAfter(eq(FIRST_USER), any(Pageable.class));
+        verify(analyticsService, never()).getInsight(USER_A, false);
+        verify(analyticsService, never()).getInsight(USER_B, false);
+        verify(analyticsService, times(1)).getInsight(USER_C, false);
+    }
+
+    @Test
+    @DisplayName("resumeOnStartup should not start a run when nothing from this month was interrupted")
+    void resumeOnStartup_NothingToResume() {
+        InsightJobRun stale = new InsightJobRun();
+        stale.setStartedAt(LocalDateTime.now().minusMonths(1));
+        when(runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)).thenReturn(List.of(stale));
+
+        monthlyInsightJob.resumeOnStartup();
+
+        assertFalse(monthlyInsightJob.isRunning());
+        verifyNoInteractions(userRepo, analyticsService);
+        verify(runRepo, never()).save(any(InsightJobRun.class));
+    }
+
+    @Test
+    @DisplayName("run should fail an orphaned run from an earlier month and start this month's run from the first user")
+    void run_DoesNotResumeEarlierMonth() throws Exception {
+        InsightJobRun stale = new InsightJobRun();
+        stale.setId(UUID.randomUUID());
+        stale.setStartedAt(LocalDateTime.now().minusMonths(1));
+        stale.setLastUserId(USER_B);
+        when(runRepo.findByStatusOrderByStartedAtDesc(InsightJobRun.Status.RUNNING)).thenReturn(List.of(stale));
+        when(userRepo.findIdsAfter(eq(FIRST_USER), any(Pageable.class))).thenReturn(List.of(USER_A, USER_B));
+        when(userRepo.findIdsAfter(eq(USER_B), any(Pageable.class))).thenReturn(List.of());
+
+        InsightJobRun finished = monthlyInsightJob.run().orElseThrow();
+
+        assertEquals(InsightJobRun.Status.FAILED, stale.getStatus());
+        assertNotNull(stale.getFinishedAt());
+        assertNotSame(stale, finished);
+        assertEquals(InsightJobRun.Status.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getUsersProcessed());
+        verify(analyticsService).getInsight(USER_A, false);
+    }
+}
@@ -0,0 +1,168 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.error.AnalyticsUnavailableException;
+import com.FinanceManager.backend.service.PythonWorkerPool;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PythonWorkerPoolTest {
+
+    private static final String SCRIPT = "src/test/resources/python/fake_worker.py";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PythonWorkerPool pool;
+
+    @BeforeAll
+    static void requirePython() throws InterruptedException {
+        boolean available;
+        try {
+            available = new ProcessBuilder("python3", "--version").start().waitFor() == 0;
+        } catch (IOException e) {
+            available = false;
+        }
+        assumeTrue(available, "python3 is not installed");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            ReflectionTestUtils.invokeMethod(pool, "stop");
+        }
+    }
+
+    @Test
+    @DisplayName("execute should replace a worker that crashes mid-request and keep serving")
+    void execute_RespawnsCrashedWorker() throws Exception {
+        pool = start(1, 0, 1000);
+
+        assertThrows(IOException.class, () -> pool.execute(request().put("crash", true)));
+
+        assertEquals(1, pool.liveWorkers());
+        assertEquals(7, pool.execute(request().put("value", 7)).path("echo").asInt());
+    }
+
+    @Test
+    @DisplayName("execute should count a dead idle worker once when its replacement fails to start")
+    void execute_DeadWorkerWithFailedRespawn_RetiresOnce() throws Exception {
+        pool = start(1, 0, 1000);
+        pool.execute(request().put("exit_after_reply", true));
+        Thread.sleep(500);
+
+        ReflectionTestUtils.setField(pool, "executable", "/nonexistent/python3");
+        assertThrows(IOException.class, () -> pool.execute(request()));
+        assertEquals(0, pool.liveWorkers());
+
+        ReflectionTestUtils.setField(pool, "executable", "python3");
+        pool.checkHealth();
+        assertEquals(1, pool.liveWorkers());
+        assertEquals(3, pool.execute(request().put("value", 3)).path("echo").asInt());
+    }
+
+    @Test
+    @DisplayName("checkHealth racing crash replacements should never start more workers than the pool size")
+    void checkHealth_RacingReplacement_NeverOverSpawns() throws Exception {
+        pool = start(2, 2, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<Void> crash = CompletableFuture.runAsync(() -> assertThrows(IOException.class,
+                    () -> pool.execute(request().put("crash", true))));
+            CompletableFuture<Void> health = CompletableFuture.runAsync(() -> pool.checkHealth());
+            while (!crash.isDone() || !health.isDone()) {
+                assertTrue(pool.liveWorkers() <= 2);
+                Thread.sleep(1);
+            }
+            crash.get(5, TimeUnit.SECONDS);
+            health.get(5, TimeUnit.SECONDS);
+        }
+        pool.checkHealth();
+
+        assertEquals(2, pool.liveWorkers());
+        assertEquals(2, ((BlockingQueue<?>) ReflectionTestUtils.getField(pool, "idle")).size());
+    }
+
+    @Test
+    @DisplayName("execute should reject immediately once every worker and queue slot is taken")
+    void execute_QueueFull_RejectsImmediately() throws Exception {
+        pool = start(1, 0, 5000);
+        CompletableFuture<JsonNode> slow = CompletableFuture.supplyAsync(() -> call(request().put("sleep", 1)));
+        awaitAdmissions(0);
+
+        assertThrows(AnalyticsUnavailableException.class, () -> pool.execute(request()));
+        assertNotNull(slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("execute should time out a stalled worker and replace it")
+    void execute_Timeout_ReplacesWorker() throws Exception {
+        pool = start(1, 0, 300);
+
+        IOException e = assertThrows(IOException.class, () -> pool.execute(request().put("sleep", 2)));
+
+        assertTrue(e.getMessage().contains("timed out"));
+        assertEquals(1, pool.liveWorkers());
+        assertEquals(5, pool.execute(request().put("value", 5)).path("echo").asInt());
+    }
+
+    @Test
+    @DisplayName("stop should destroy workers that are in the middle of a request")
+    void stop_DestroysInFlightWorkers() throws Exception {
+        pool = start(2, 0, 5000);
+        CompletableFuture<JsonNode> slow = CompletableFuture.supplyAsync(() -> call(request().put("sleep", 5)));
+        awaitAdmissions(1);
+
+        ReflectionTestUtils.invokeMethod(pool, "stop");
+
+        assertEquals(0, pool.liveWorkers());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause().getCause());
+    }
+
+    private PythonWorkerPool start(int size, int queueCapacity, long requestTimeout) {
+        PythonWorkerPool workerPool = new PythonWorkerPool(objectMapper);
+        ReflectionTestUtils.setField(workerPool, "executable", "python3");
+        ReflectionTestUtils.setField(workerPool, "script", SCRIPT);
+        ReflectionTestUtils.setField(workerPool, "size", size);
+        ReflectionTestUtils.setField(workerPool, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(workerPool, "requestTimeout", requestTimeout);
+        ReflectionTestUtils.setField(workerPool, "healthCheckTimeout", 1000L);
+        ReflectionTestUtils.invokeMethod(workerPool, "start");
+        return workerPool;
+    }
+
+    private ObjectNode request() {
+        return objectMapper.createObjectNode();
+    }
+
+    private JsonNode call(ObjectNode request) {
+        try {
+            return pool.execute(request);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void awaitAdmissions(int remaining) throws InterruptedException {
+        Semaphore admission = (Semaphore) ReflectionTestUtils.getField(pool, "admission");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admission.availablePermits() > remaining && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+    }
+}
@@ -0,0 +1,98 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.RateLimitClass;
+import com.FinanceManager.backend.entity.RateLimitStats;
+import com.FinanceManager.backend.service.RateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitServiceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new RateLimitService();
+        ReflectionTestUtils.setField(rateLimitService, "enabled", true);
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimitService, "idleExpiry", 600000L);
+        ReflectionTestUtils.setField(rateLimitService, "crudCapacity", 5.0);
+        ReflectionTestUtils.setField(rateLimitService, "crudRefill", 1.0);
+        ReflectionTestUtils.setField(rateLimitService, "analyticsCapacity", 5.0);
+        ReflectionTestUtils.setField(rateLimitService, "analyticsRefill", 1.0);
+        ReflectionTestUtils.setField(rateLimitService, "bulkCapacity", 1.0);
+        ReflectionTestUtils.setField(rateLimitService, "bulkRefill", 0.1);
+        ReflectionTestUtils.setField(rateLimitService, "insightsCapacity", 2.0);
+        ReflectionTestUtils.setField(rateLimitService, "insightsRefill", 0.2);
+        ReflectionTestUtils.setField(rateLimitService, "bulkheadLimit", 2);
+        ReflectionTestUtils.setField(rateLimitService, "bulkheadRetryAfter", 3L);
+        ReflectionTestUtils.setField(rateLimitService, "ticker", (LongSupplier) now::get);
+        ReflectionTestUtils.invokeMethod(rateLimitService, "init");
+    }
+
+    @Test
+    @DisplayName("tryAcquire should allow a burst up to capacity, then report the seconds until the next token")
+    void tryAcquire_ThrottlesAfterBurst() {
+        assertEquals(0, rateLimitService.tryAcquire("user:alice", RateLimitClass.INSIGHTS));
+        assertEquals(0, rateLimitService.tryAcquire("user:alice", RateLimitClass.INSIGHTS));
+        assertEquals(5, rateLimitService.tryAcquire("user:alice", RateLimitClass.INSIGHTS));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(1, rateLimitService.tryAcquire("user:alice", RateLimitClass.INSIGHTS));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, rateLimitService.tryAcquire("user:alice", RateLimitClass.INSIGHTS));
+
+        RateLimitStats stats = rateLimitService.stats();
+        assertEquals(3L, stats.getAllowed().get(RateLimitClass.INSIGHTS));
+        assertEquals(2L, stats.getThrottled().get(RateLimitClass.INSIGHTS));
+    }
+
+    @Test
+    @DisplayName("tryAcquire should keep separate budgets per client and per endpoint class")
+    void tryAcquire_IsolatesClientsAndClasses() {
+        assertEquals(0, rateLimitService.tryAcquire("user:alice", RateLimitClass.BULK));
+        assertTrue(rateLimitService.tryAcquire("user:alice", RateLimitClass.BULK) > 0);
+
+        assertEquals(0, rateLimitService.tryAcquire("user:bob", RateLimitClass.BULK));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimitService.tryAcquire("user:alice", RateLimitClass.CRUD));
+        }
+        assertEquals(3, rateLimitService.stats().getTrackedBuckets());
+    }
+
+    @Test
+    @DisplayName("tryEnterBulkhead should reject once every slot is taken and admit again after a release")
+    void bulkhead_RejectsWhenFull() {
+        assertTrue(rateLimitService.tryEnterBulkhead());
+        assertTrue(rateLimitService.tryEnterBulkhead());
+        assertFalse(rateLimitService.tryEnterBulkhead());
+        assertEquals(2, rateLimitService.stats().getBulkheadActive());
+        assertEquals(1L, rateLimitService.stats().getBulkheadRejected());
+
+        rateLimitService.exitBulkhead();
+        assertTrue(rateLimitService.tryEnterBulkhead());
+    }
+
+    @Test
+    @DisplayName("RateLimitClass.of should separate insight, bulk, analytics and CRUD endpoints")
+    void classify_Paths() {
+        assertEquals(RateLimitClass.INSIGHTS, RateLimitClass.of("GET", "/api/analytics/insights"));
+        assertEquals(RateLimitClass.INSIGHTS, RateLimitClass.of("POST", "/api/analytics/insights/jobs"));
+        assertEquals(RateLimitClass.ANALYTICS, RateLimitClass.of("GET", "/api/analytics/insights/jobs/stats"));
+        assertEquals(RateLimitClass.ANALYTICS, RateLimitClass.of("GET", "/api/reactive/analytics/totals"));
+        assertEquals(RateLimitClass.BULK, RateLimitClass.of("GET", "/api/expenses/user/1/export"));
+        assertEquals(RateLimitClass.BULK, RateLimitClass.of("GET", "/api/reactive/debts/user/1"));
+        assertEquals(RateLimitClass.CRUD, RateLimitClass.of("POST", "/api/expenses/user/1"));
+        assertNull(RateLimitClass.of("POST", "/authenticate"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.Expense;
+import com.FinanceManager.backend.entity.ExpenseReadModel;
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.repository.ReactiveExpenseRepository;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.ExpenseService;
+import com.FinanceManager.backend.service.ReactiveDashboardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the R2DBC reads use their own connections and only see committed rows.
+@SpringBootTest
+public class ReactiveReadIntegrationTest {
+
+    @Autowired
+    private ReactiveExpenseRepository reactiveExpenseRepository;
+
+    @Autowired
+    private ReactiveDashboardService reactiveDashboardService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UUID> expenseIds = new ArrayList<>();
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("reactive-" + UUID.randomUUID());
+        user.setPasswordHash("hash");
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        expenseIds.forEach(expenseService::deleteExpense);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    @DisplayName("streamByUserId should emit the user's expenses newest first")
+    void streamByUserId_NewestFirst() {
+        create(LocalDate.now().minusDays(1), "5.00");
+        create(LocalDate.now(), "7.50");
+
+        StepVerifier.create(reactiveExpenseRepository.streamByUserId(userId).map(ExpenseReadModel::getAmount))
+                .assertNext(amount -> assertEquals(0, new BigDecimal("7.50").compareTo(amount)))
+                .assertNext(amount -> assertEquals(0, new BigDecimal("5.00").compareTo(amount)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("liveTotals should emit current totals and again after a committed expense")
+    void liveTotals_EmitsOnChange() {
+        create(LocalDate.now(), "10.00");
+
+        StepVerifier.create(reactiveDashboardService.liveTotals(userId))
+                .assertNext(totals -> assertEquals(0, new BigDecimal("10.00").compareTo(totals.getYear())))
+                .then(() -> create(LocalDate.now(), "2.50"))
+                .assertNext(totals -> assertEquals(0, new BigDecimal("12.50").compareTo(totals.getYear())))
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private void create(LocalDate date, String amount) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setCategory("food");
+        expense.setExpenseDate(date);
+        expenseIds.add(expenseService.createExpense(userId, expense).getId());
+    }
+}
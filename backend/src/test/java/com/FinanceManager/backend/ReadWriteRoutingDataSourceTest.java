@@ -0,0 +1,108 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.config.ReadWriteRoutingDataSource;
+import com.FinanceManager.backend.config.ReadYourWritesTracker;
+import com.FinanceManager.backend.config.ReplicaLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private ReadYourWritesTracker tracker;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS replica_lag (millis BIGINT)");
+        new JdbcTemplate(replica).execute("DELETE FROM replica_lag");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        tracker = new ReadYourWritesTracker(60_000);
+        monitor = new ReplicaLagMonitor(replica, "SELECT millis FROM replica_lag", 5_000);
+        monitor.check();
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor, tracker));
+
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("read-only transactions should go to the replica and the rest to the primary")
+    void routesByTransactionReadOnlyFlag() {
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+        assertEquals("primary", readWrite.execute(status -> whichDatabase()));
+        assertEquals("primary", whichDatabase());
+    }
+
+    @Test
+    @DisplayName("a user who just wrote should keep reading from the primary")
+    void readYourWrites() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+        readWrite.execute(status -> whichDatabase());
+        assertTrue(tracker.wroteRecently("alice"));
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @DisplayName("reads should fall back to the primary when the replica lags too far behind")
+    void fallsBackWhenLagging() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET millis = 60000");
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> whichDatabase()));
+    }
+
+    @Test
+    @DisplayName("onPrimary should keep read-only transactions on the primary, even for a user who has not written")
+    void onPrimaryForcesPrimary() {
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> whichDatabase())));
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryForced());
+        assertEquals("replica", readOnly.execute(status -> whichDatabase()));
+    }
+
+    private String whichDatabase() {
+        return jdbc.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(16))");
+        template.execute("DELETE FROM whoami");
+        template.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
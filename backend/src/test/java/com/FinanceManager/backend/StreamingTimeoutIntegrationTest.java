@@ -0,0 +1,95 @@
+package com.FinanceManager.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A real server, since only the servlet container enforces async timeouts; MockMvc never expires a request.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.mvc.async.request-timeout=300",
+        "application.analytics.live-totals.refresh=100"
+})
+public class StreamingTimeoutIntegrationTest {
+    private static final long ASYNC_TIMEOUT = 300;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("GET /api/reactive/analytics/totals/live - Keeps streaming past spring.mvc.async.request-timeout")
+    void liveTotals_OutlivesAsyncRequestTimeout() throws Exception {
+        String token = registerAndLogin("stream-" + UUID.randomUUID());
+        String userId = objectMapper.readTree(send(HttpRequest.newBuilder(uri("/api/user/me"))
+                .header("Authorization", "Bearer " + token).build()).body()).get("id").asText();
+
+        HttpRequest live = HttpRequest.newBuilder(uri("/api/reactive/analytics/totals/live?userId=" + userId))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> response = client.send(live, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+
+        long start = System.nanoTime();
+        int eventsAfterTimeout = 0;
+        try (Stream<String> lines = response.body()) {
+            Iterator<String> iterator = lines.iterator();
+            while (elapsedMillis(start) < ASYNC_TIMEOUT * 5 && iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.startsWith("event:") && line.contains("totals") && elapsedMillis(start) > ASYNC_TIMEOUT * 2) {
+                    eventsAfterTimeout++;
+                }
+            }
+        }
+
+        assertTrue(elapsedMillis(start) >= ASYNC_TIMEOUT * 5, "the stream ended early");
+        assertTrue(eventsAfterTimeout > 0);
+    }
+
+    private String registerAndLogin(String username) throws Exception {
+        String credentials = objectMapper.writeValueAsString(Map.of("username", username, "password", "password123"));
+        assertEquals(200, send(post("/api/user/register", credentials)).statusCode());
+        HttpResponse<String> login = send(post("/authenticate", credentials));
+        assertEquals(200, login.statusCode());
+        return login.body();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long elapsedMillis(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
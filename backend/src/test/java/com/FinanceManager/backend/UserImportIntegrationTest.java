@@ -0,0 +1,191 @@
+package com.FinanceManager.backend;
+
+import com.FinanceManager.backend.entity.User;
+import com.FinanceManager.backend.entity.UserImportResult;
+import com.FinanceManager.backend.repository.UserRepository;
+import com.FinanceManager.backend.service.UserImportService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class UserImportIntegrationTest {
+    private static final String TWO_USERS =
+            "[{\"username\": \"dave\", \"password\": \"password123\"}, {\"username\": \"erin\", \"password\": \"password123\"}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("importJson should create new users and report duplicates and invalid entries per entry")
+    void importJson_MixedEntries() throws Exception {
+        User existing = new User();
+        existing.setUsername("taken");
+        existing.setPasswordHash("hash");
+        userRepository.saveAndFlush(existing);
+
+        String json = """
+                [
+                  {"username": "alice", "password": "password123"},
+                  {"username": "taken", "password": "password123"},
+                  {"username": "alice", "password": "other"},
+                  {"username": " ", "password": "password123"},
+                  {"username": "bob", "password": ""},
+                  {"username": "carol", "password": "secret456"}
+                ]
+                """;
+
+        UserImportResult result = userImportService.importJson(body(json));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(2, result.getInvalid());
+
+        List<UserImportResult.Status> statuses = result.getEntries().stream().map(UserImportResult.Entry::getStatus).toList();
+        assertEquals(List.of(UserImportResult.Status.CREATED, UserImportResult.Status.DUPLICATE, UserImportResult.Status.DUPLICATE,
+                UserImportResult.Status.INVALID, UserImportResult.Status.INVALID, UserImportResult.Status.CREATED), statuses);
+        assertEquals("username already exists", result.getEntries().get(1).getMessage());
+
+        User carol = userRepository.findByUsername("carol").orElseThrow();
+        assertEquals(result.getEntries().get(5).getId(), carol.getId());
+        assertTrue(passwordEncoder.matches("secret456", carol.getPassword()));
+        assertEquals("hash", userRepository.findByUsername("taken").orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("importJson should reject a body that is not a JSON array")
+    void importJson_RejectsNonArray() {
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importJson(body("{\"username\": \"alice\"}")));
+    }
+
+    @Test
+    @DisplayName("importJson should reject an array element that is not an object instead of stopping there")
+    void importJson_RejectsNonObjectElement() {
+        String json = """
+                [{"username": "alice", "password": "password123"}, 42, {"username": "bob", "password": "password123"}]
+                """;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> userImportService.importJson(body(json)));
+        assertTrue(e.getMessage().contains("Entry 2"));
+        assertTrue(userRepository.findByUsername("alice").isEmpty());
+    }
+
+    @Test
+    @DisplayName("importJson should reject a truncated or malformed array before creating anyone")
+    void importJson_RejectsMalformedArray() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importJson(body("[{\"username\": \"alice\", \"password\": \"password123\"}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importJson(body("[{\"username\": \"alice\", \"password\": \"password123\"}, {oops}]")));
+        assertTrue(userRepository.findByUsername("alice").isEmpty());
+    }
+
+    @Test
+    @DisplayName("importJson should report created users and mark the rest SKIPPED when hashing saturates mid-import")
+    void importJson_PartialWhenHashingBusy() throws Exception {
+        Object hashingExecutor = ReflectionTestUtils.getField(userImportService, "hashingExecutor");
+        Object batchSize = ReflectionTestUtils.getField(userImportService, "batchSize");
+        AtomicInteger submitted = new AtomicInteger();
+        ThreadPoolExecutor saturating = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (submitted.incrementAndGet() > 2) {
+                    throw new RejectedExecutionException("full");
+                }
+                super.execute(command);
+            }
+        };
+        ReflectionTestUtils.setField(userImportService, "hashingExecutor", saturating);
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+        try {
+            String json = """
+                    [
+                      {"username": "p1", "password": "password123"},
+                      {"username": "p2", "password": "password123"},
+                      {"username": "p3", "password": "password123"},
+                      {"username": "p4", "password": "password123"}
+                    ]
+                    """;
+
+            UserImportResult result = userImportService.importJson(body(json));
+
+            assertEquals(2, result.getCreated());
+            assertEquals(2, result.getSkipped());
+            assertEquals(0, result.getInvalid());
+            assertEquals(List.of(UserImportResult.Status.CREATED, UserImportResult.Status.CREATED,
+                            UserImportResult.Status.SKIPPED, UserImportResult.Status.SKIPPED),
+                    result.getEntries().stream().map(UserImportResult.Entry::getStatus).toList());
+            assertTrue(userRepository.findByUsername("p2").isPresent());
+            assertTrue(userRepository.findByUsername("p3").isEmpty());
+        } finally {
+            ReflectionTestUtils.setField(userImportService, "hashingExecutor", hashingExecutor);
+            ReflectionTestUtils.setField(userImportService, "batchSize", batchSize);
+            saturating.shutdownNow();
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "someone")
+    @DisplayName("POST /api/user/import - Forbidden for an account that is not in allowed-users")
+    void importEndpoint_ForbiddenForNormalUser() throws Exception {
+        mockMvc.perform(post("/api/user/import").contentType(MediaType.APPLICATION_JSON).content(TWO_USERS))
+                .andExpect(status().isForbidden());
+        assertTrue(userRepository.findByUsername("dave").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "importer")
+    @DisplayName("POST /api/user/import - Allowed for an account in allowed-users")
+    void importEndpoint_AllowedUser() throws Exception {
+        mockMvc.perform(post("/api/user/import").contentType(MediaType.APPLICATION_JSON).content(TWO_USERS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+        assertTrue(userRepository.findByUsername("erin").isPresent());
+    }
+
+    @Test
+    @WithMockUser(username = "importer")
+    @DisplayName("POST /api/user/import - 400 for an element that is not an object")
+    void importEndpoint_BadRequestForNonObject() throws Exception {
+        mockMvc.perform(post("/api/user/import").contentType(MediaType.APPLICATION_JSON).content("[\"dave\"]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
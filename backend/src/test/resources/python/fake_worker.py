@@ -0,0 +1,21 @@
+import json
+import os
+import sys
+import threading
+import time
+
+# Stand-in for ml/analyze_user.py in worker mode, with knobs the pool tests use to crash, stall or exit later.
+for line in sys.stdin:
+    request = json.loads(line)
+    request_id = request.get("id")
+    if request.get("crash"):
+        os._exit(1)
+    if request.get("sleep"):
+        time.sleep(request["sleep"])
+    if request.get("ping"):
+        response = {"id": request_id, "pong": True}
+    else:
+        response = {"id": request_id, "result": {"echo": request.get("value")}}
+    print(json.dumps(response), flush=True)
+    if request.get("exit_after_reply"):
+        threading.Timer(0.1, lambda: os._exit(0)).start()
@@ -1,6 +1,7 @@
 import axios from "axios";
 
 axios.defaults.baseURL = "http://localhost:8080"; // Spring Boot backend port
+axios.defaults.withCredentials = true; // sends the HttpOnly refresh cookie to /authenticate/*
 
 axios.interceptors.request.use((config) => {
     const token = localStorage.getItem("token");
@@ -9,4 +10,30 @@ axios.interceptors.request.use((config) => {
         config.headers.Authorization = `Bearer ${token}`;
     }
     return config;
-});
\ No newline at end of file
+});
+
+// Access tokens are short-lived: on a rejected request, trade the refresh cookie for a new token once and retry.
+let refreshing = null;
+
+axios.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+        const original = error.config;
+        const status = error.response?.status;
+        if (!original || original._retried || original.url?.startsWith("/authenticate")
+                || (status !== 401 && status !== 403) || !localStorage.getItem("token")) {
+            return Promise.reject(error);
+        }
+        original._retried = true;
+        try {
+            refreshing = refreshing || axios.post("/authenticate/refresh").finally(() => { refreshing = null; });
+            const res = await refreshing;
+            localStorage.setItem("token", res.data);
+            return axios(original);
+        } catch (refreshError) {
+            localStorage.clear();
+            window.location.assign("/login");
+            return Promise.reject(refreshError);
+        }
+    }
+);
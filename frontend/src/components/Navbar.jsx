@@ -1,10 +1,12 @@
 import React from "react";
 import { useNavigate } from "react-router-dom";
+import axios from "axios";
 
 const Navbar = () => {
     const navigate = useNavigate();
 
-    const logout = () => {
+    const logout = async () => {
+        await axios.post("/authenticate/logout").catch(() => {});
         localStorage.clear();
         navigate("/login");
     };
@@ -12,7 +12,8 @@ const DashboardPage = () => {
   const [totalEntries, setTotalEntries] = useState(0);
   const [uniqueCategories, setUniqueCategories] = useState(0);
 
-  const logout = () => {
+  const logout = async () => {
+    await axios.post("/authenticate/logout").catch(() => {});
     localStorage.clear();
     navigate("/login");
   };